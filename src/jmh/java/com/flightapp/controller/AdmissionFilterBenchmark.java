@@ -0,0 +1,113 @@
+package com.flightapp.controller;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import com.flightapp.service.ServiceMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+// cost the filter adds to an admitted request, against a chain with no filter at all;
+// the budget is 5µs per request. Limits are set high so every call takes the admit path
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdmissionFilterBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int FLIGHTS = 64;
+
+    private static final WebFilterChain CHAIN = exchange -> Mono.empty();
+
+    private AdmissionFilter filter;
+
+    @State(Scope.Thread)
+    public static class Requests {
+
+        ServerWebExchange[] searches;
+        ServerWebExchange[] bookings;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            searches = new ServerWebExchange[USERS];
+            bookings = new ServerWebExchange[USERS];
+            for (int i = 0; i < USERS; i++) {
+                String email = "user" + i + "@bench.local";
+                searches[i] = MockServerWebExchange.from(MockServerHttpRequest
+                        .post("/api/v1.0/flight/search")
+                        .header("X-User-Email", email));
+                bookings[i] = MockServerWebExchange.from(MockServerHttpRequest
+                        .post("/api/v1.0/flight/booking/{flightId}", "flight-" + (i % FLIGHTS))
+                        .header("X-User-Email", email));
+            }
+        }
+
+        ServerWebExchange search() {
+            return searches[ThreadLocalRandom.current().nextInt(USERS)];
+        }
+
+        ServerWebExchange booking() {
+            return bookings[ThreadLocalRandom.current().nextInt(USERS)];
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        filter = new AdmissionFilter(true,
+                1e9, 1_000_000, 1e9, 1_000_000, 1e9, 1_000_000, Integer.MAX_VALUE,
+                Duration.ofMinutes(10), 100_000,
+                new ServiceMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public Mono<Void> baseline(Requests requests) {
+        Mono<Void> result = CHAIN.filter(requests.search());
+        result.subscribe();
+        return result;
+    }
+
+    @Benchmark
+    public Mono<Void> search(Requests requests) {
+        Mono<Void> result = filter.filter(requests.search(), CHAIN);
+        result.subscribe();
+        return result;
+    }
+
+    @Benchmark
+    public Mono<Void> booking(Requests requests) {
+        Mono<Void> result = filter.filter(requests.booking(), CHAIN);
+        result.subscribe();
+        return result;
+    }
+
+    // every thread hits the same few flight buckets and in-flight counters
+    @Benchmark
+    @Threads(4)
+    public Mono<Void> bookingContended(Requests requests) {
+        Mono<Void> result = filter.filter(requests.booking(), CHAIN);
+        result.subscribe();
+        return result;
+    }
+}
@@ -0,0 +1,191 @@
+package com.flightapp.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.mockito.ArgumentMatchers;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.flightapp.TestFixtures;
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.model.FlightSnapshot;
+import com.flightapp.model.RouteKeys;
+import com.flightapp.model.SeatHold;
+import com.flightapp.model.enums.BookingStatus;
+import com.flightapp.repository.BookingHoldRepository;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.SeatHoldRepository;
+import com.mongodb.bulk.BulkWriteResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// shared inputs and services wired to Mockito stub repositories, so the benchmarks
+// measure the service code itself and not a Mongo round trip
+final class BenchmarkFixtures {
+
+    static final String FLIGHT_ID = "665f1c2e8a1b2c3d4e5f6a7b";
+    static final LocalDate TRAVEL_DATE = LocalDate.of(2030, 1, 15);
+
+    private BenchmarkFixtures() {
+    }
+
+    static Flight flight() {
+        Flight flight = new Flight();
+        flight.setId(FLIGHT_ID);
+        flight.setAirlineName("Bench Air");
+        flight.setAirlineLogoUrl("https://example.com/logo.png");
+        flight.setFromPlace("Kolkata");
+        flight.setToPlace("Delhi");
+        flight.setDepartureDate(TRAVEL_DATE);
+        flight.setDepartureTime(LocalTime.of(10, 30));
+        flight.setArrivalTime(LocalTime.of(12, 45));
+        flight.setRoundTripAvailable(true);
+        flight.setOneWayPrice(BigDecimal.valueOf(5000));
+        flight.setRoundTripPrice(BigDecimal.valueOf(9000));
+        flight.setTotalSeats(180);
+        flight.setAvailableSeats(180);
+        RouteKeys.apply(flight);
+        return flight;
+    }
+
+    static List<Flight> flights(int count) {
+        List<Flight> flights = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Flight flight = flight();
+            flight.setId(FLIGHT_ID.substring(0, 20) + String.format("%04d", i));
+            flight.setDepartureTime(LocalTime.of(6, 0).plusMinutes(37L * i));
+            flight.setOneWayPrice(BigDecimal.valueOf(4000 + 50L * i));
+            flights.add(flight);
+        }
+        return flights;
+    }
+
+    static BookingRequest bookingRequest(int seats) {
+        return TestFixtures.booking("bench@example.com", IntStream.range(0, seats)
+                .mapToObj(i -> (i / 6 + 1) + String.valueOf((char) ('A' + i % 6)))
+                .toList());
+    }
+
+    static Booking booking(int seats) {
+        BookingRequest request = bookingRequest(seats);
+        Booking booking = new Booking();
+        booking.setId("665f1c2e8a1b2c3d4e5f0001");
+        booking.setPnr("0000ABCDEFGH");
+        booking.setFlightId(FLIGHT_ID);
+        booking.setFlight(FlightSnapshot.of(flight()));
+        booking.setUserName(request.getUserName());
+        booking.setUserEmail(request.getUserEmail());
+        booking.setNumberOfSeats(seats);
+        booking.setPassengers(request.getPassengers());
+        booking.setSeatNumbers(request.getSeatNumbers());
+        booking.setMealType(request.getMealType());
+        booking.setStatus(BookingStatus.BOOKED);
+        booking.setBookedAt(LocalDateTime.of(2029, 12, 1, 9, 0));
+        booking.setJourneyDate(TRAVEL_DATE);
+        booking.setJourneyDepartureDateTime(LocalDateTime.of(TRAVEL_DATE, LocalTime.of(10, 30)));
+        return booking;
+    }
+
+    static BookingService bookingService(ServiceMetrics metrics) {
+        Flight flight = flight();
+        FlightRepository flights = mock(FlightRepository.class, withSettings().stubOnly());
+        when(flights.reserveSeats(anyString(), anyInt())).thenReturn(Mono.just(flight));
+        when(flights.releaseSeats(anyString(), anyInt())).thenReturn(Mono.just(flight));
+        when(flights.findTicketView(anyString())).thenReturn(Mono.just(flight));
+        when(flights.existsById(anyString())).thenReturn(Mono.just(true));
+        BookingRepository bookings = mock(BookingRepository.class, withSettings().stubOnly());
+        when(bookings.save(any(Booking.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        return bookingService(metrics, bookings, flights);
+    }
+
+    static BookingService bookingService(ServiceMetrics metrics, BookingRepository bookings, FlightRepository flights) {
+        SeatHoldRepository seatHolds = mock(SeatHoldRepository.class, withSettings().stubOnly());
+        when(seatHolds.insert(ArgumentMatchers.<SeatHold>anyIterable()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<Iterable<SeatHold>>getArgument(0)));
+        when(seatHolds.deleteByIdInAndPnr(anyCollection(), anyString())).thenReturn(Mono.just(0L));
+        BookingHoldRepository holds = mock(BookingHoldRepository.class, withSettings().stubOnly());
+
+        return new BookingService(
+                bookings,
+                flights,
+                new PnrGenerator(0, PnrGenerator.DEFAULT_ALPHABET),
+                new SeatMapService(seatHolds, metrics, timeouts()),
+                holds,
+                new BookingTransactions(null, false, 0, Duration.ZERO),
+                event -> { },
+                metrics,
+                timeouts(),
+                new TicketCache(10_000, Duration.ofSeconds(5)),
+                journal(false, null, 1),
+                Duration.ofMinutes(10),
+                5);
+    }
+
+    static FlightService flightService(ServiceMetrics metrics, List<Flight> routeFlights) {
+        FlightRepository flights = mock(FlightRepository.class, withSettings().stubOnly());
+        when(flights.findForSearch(anyString(), any(LocalDate.class), anyBoolean()))
+                .thenAnswer(invocation -> Flux.fromIterable(routeFlights));
+
+        return new FlightService(
+                flights,
+                new FlightSearchCache(10_000, Duration.ofMinutes(10), Duration.ofSeconds(90)),
+                event -> { },
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                metrics,
+                timeouts(),
+                JsonMapper.builder().findAndAddModules().build());
+    }
+
+    static ServiceMetrics metrics() {
+        return new ServiceMetrics(new SimpleMeterRegistry());
+    }
+
+    // a disabled journal is inert: no files, no threads, and Mongo is never touched
+    static BookingJournal journal(boolean enabled, Path directory, int maxGroup) {
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        converter.afterPropertiesSet();
+        ReactiveBulkOperations bulk = mock(ReactiveBulkOperations.class, withSettings().stubOnly());
+        when(bulk.upsert(any(Query.class), any(Update.class))).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+        ReactiveMongoOperations mongo = mock(ReactiveMongoOperations.class, withSettings().stubOnly());
+        when(mongo.bulkOps(any(BulkMode.class), eq(Booking.class))).thenReturn(bulk);
+        when(mongo.getConverter()).thenReturn(converter);
+        return new BookingJournal(mongo, JsonMapper.builder().findAndAddModules().build(),
+                enabled, directory, 64 * 1024 * 1024, maxGroup, 500, Duration.ofMillis(50));
+    }
+
+    static MongoTimeouts timeouts() {
+        return new MongoTimeouts(Duration.ofSeconds(2), Duration.ofSeconds(5));
+    }
+}
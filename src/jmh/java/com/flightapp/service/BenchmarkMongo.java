@@ -0,0 +1,66 @@
+package com.flightapp.service;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+
+// a real server for the benchmarks that measure Mongo itself: an embedded mongod by default,
+// or the deployment named by -Dbenchmarks.mongo-uri (a replica set, say); JMH forks, so pass
+// it as -Djmh.args="... -jvmArgsAppend -Dbenchmarks.mongo-uri=mongodb://host/?replicaSet=rs0"
+final class BenchmarkMongo implements AutoCloseable {
+
+    private final TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private final MongoClient client;
+    private final ReactiveMongoTemplate template;
+
+    private BenchmarkMongo(TransitionWalker.ReachedState<RunningMongodProcess> mongod, MongoClient client,
+                           String database) {
+        this.mongod = mongod;
+        this.client = client;
+        this.template = new ReactiveMongoTemplate(client, database);
+    }
+
+    // the pool is sized to the benchmark's concurrency, so requests wait on the server and not
+    // on a connection
+    static BenchmarkMongo start(String database, int poolSize) {
+
+        String uri = System.getProperty("benchmarks.mongo-uri");
+        if (uri != null) {
+            return new BenchmarkMongo(null, client(new ConnectionString(uri), poolSize), database);
+        }
+
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance()
+                .start(Version.Main.valueOf("V" + System.getProperty("benchmarks.mongo-version", "7.0").replace('.', '_')));
+        ServerAddress address = mongod.current().getServerAddress();
+        ConnectionString local = new ConnectionString("mongodb://" + address.getHost() + ":" + address.getPort());
+        return new BenchmarkMongo(mongod, client(local, poolSize), database);
+    }
+
+    private static MongoClient client(ConnectionString uri, int poolSize) {
+        return MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(uri)
+                .applyToConnectionPoolSettings(pool -> pool.maxSize(poolSize))
+                .build());
+    }
+
+    ReactiveMongoTemplate template() {
+        return template;
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        if (mongod != null) {
+            mongod.close();
+        }
+    }
+}
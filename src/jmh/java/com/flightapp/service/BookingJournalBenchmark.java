@@ -0,0 +1,80 @@
+package com.flightapp.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightapp.model.Booking;
+
+// latency of a durable booking append under concurrent bookers: maxGroup=1 forces the journal
+// once per booking (a per-request write), larger groups share one force among everyone queued.
+// Run it on the disk the journal will live on; tmpfs makes every force free
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class BookingJournalBenchmark {
+
+    @Param({"1", "256"})
+    public int maxGroup;
+
+    @Param({"target/journal-bench"})
+    public String directory;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private Path path;
+    private BookingJournal journal;
+
+    @Setup
+    public void setUp() throws IOException {
+        path = Files.createDirectories(Path.of(directory)).resolve("group-" + maxGroup);
+        clear(path);
+        journal = BenchmarkFixtures.journal(true, path, maxGroup);
+        journal.start();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.stop();
+        clear(path);
+    }
+
+    @Benchmark
+    public Void append() {
+        Booking booking = BenchmarkFixtures.booking(2);
+        booking.setPnr(String.format("%012d", sequence.incrementAndGet()));
+        return journal.append(booking).block();
+    }
+
+    private static void clear(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.flightapp.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightInventoryRepositoryImpl;
+
+import reactor.core.publisher.Flux;
+
+// seat reservation throughput of the old booking path against the conditional $inc, both on a
+// real mongod (see BenchmarkMongo) with CONCURRENCY reservations in flight on one flight at a
+// time. The old path read the flight and saved the whole document back with a count computed
+// in Java; the new one is FlightInventoryRepositoryImpl.reserveSeats, a single findAndModify
+// that only matches while seats remain. The old path also loses updates under this contention,
+// which is what BookingServiceConcurrencyTest shows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookingPathBenchmark {
+
+    private static final int CONCURRENCY = 500;
+    private static final int SEATS = 2;
+
+    private BenchmarkMongo mongo;
+    private ReactiveMongoTemplate template;
+    private FlightInventoryRepositoryImpl inventory;
+    private String flightsCollection;
+    private ObjectId flightId;
+
+    @Setup(Level.Trial)
+    public void startMongo() {
+        mongo = BenchmarkMongo.start("flightdb_bench_booking", CONCURRENCY);
+        template = mongo.template();
+        inventory = new FlightInventoryRepositoryImpl(template);
+        flightsCollection = template.getCollectionName(Flight.class);
+        // a raw Document read is not mapped, so the id is looked up as stored
+        flightId = new ObjectId(BenchmarkFixtures.FLIGHT_ID);
+    }
+
+    @Setup(Level.Iteration)
+    public void seedFlight() {
+        Flight flight = BenchmarkFixtures.flight();
+        // never sells out, so every call does the full amount of work
+        flight.setTotalSeats(Integer.MAX_VALUE);
+        flight.setAvailableSeats(Integer.MAX_VALUE);
+        template.dropCollection(Flight.class).then(template.insert(flight)).block();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopMongo() {
+        mongo.close();
+    }
+
+    // findById, then a plain replace of the whole document, like the old repository save
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public long readModifySave() {
+        return Flux.range(0, CONCURRENCY)
+                .flatMap(i -> template.findById(flightId, Document.class, flightsCollection)
+                        .filter(flight -> flight.getInteger("availableSeats") >= SEATS)
+                        .flatMap(flight -> {
+                            flight.put("availableSeats", flight.getInteger("availableSeats") - SEATS);
+                            return template.save(flight, flightsCollection);
+                        }), CONCURRENCY)
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public long conditionalIncrement() {
+        return Flux.range(0, CONCURRENCY)
+                .flatMap(i -> inventory.reserveSeats(BenchmarkFixtures.FLIGHT_ID, SEATS), CONCURRENCY)
+                .count()
+                .block();
+    }
+}
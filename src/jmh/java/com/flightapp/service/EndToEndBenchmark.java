@@ -0,0 +1,75 @@
+package com.flightapp.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.FlightSearchRequest;
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.TicketResponse;
+
+// the full reactive service pipelines with the repositories stubbed out: what is left is
+// validation, PNR generation, operator assembly, mapping and metrics
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    private static final long SEARCH_DAYS = 100_000;
+
+    private BookingService bookingService;
+    private FlightService flightService;
+    private BookingRequest bookingRequest;
+    private FlightSearchRequest searchRequest;
+    private long searchDay;
+
+    @Setup
+    public void setUp() {
+        ServiceMetrics metrics = BenchmarkFixtures.metrics();
+        bookingService = BenchmarkFixtures.bookingService(metrics);
+        flightService = BenchmarkFixtures.flightService(metrics, BenchmarkFixtures.flights(20));
+        bookingRequest = BenchmarkFixtures.bookingRequest(2);
+
+        searchRequest = new FlightSearchRequest();
+        searchRequest.setFromPlace("Kolkata");
+        searchRequest.setToPlace("Delhi");
+        searchRequest.setTravelDate(BenchmarkFixtures.TRAVEL_DATE);
+        searchRequest.setTripType("ONE_WAY");
+    }
+
+    @Benchmark
+    public TicketResponse bookTicket() {
+        return bookingService.bookTicket(BenchmarkFixtures.FLIGHT_ID, bookingRequest).block();
+    }
+
+    // a new travel date on every call, so each search misses the cache and runs the load and
+    // mapping; the date cycles well beyond the cache size, so a date never comes back cached
+    @Benchmark
+    public List<FlightSearchResponse> searchFlights() {
+        FlightSearchRequest request = new FlightSearchRequest();
+        request.setFromPlace(searchRequest.getFromPlace());
+        request.setToPlace(searchRequest.getToPlace());
+        request.setTravelDate(BenchmarkFixtures.TRAVEL_DATE.plusDays(searchDay++ % SEARCH_DAYS));
+        request.setTripType(searchRequest.getTripType());
+        return flightService.searchFlights(request).collectList().block();
+    }
+
+    @Benchmark
+    public List<FlightSearchResponse> searchFlightsCached() {
+        return flightService.searchFlights(searchRequest).collectList().block();
+    }
+}
@@ -0,0 +1,158 @@
+package com.flightapp.service;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightapp.dto.TicketResponse;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// booking history for a frequent flyer: one flight lookup per booking (the old N+1 path)
+// against the single batched lookup and in-memory join of getBookingHistory. The bookings have
+// no flight snapshot, so both sides really do the join. Every stubbed query answers after
+// roundTripMicros; the N+1 side overlaps its lookups like flatMap did, so what it pays for is
+// the per-query overhead and, in production, a connection per lookup in flight. SampleTime
+// gives the latency percentiles; the Queries counters show up in the AverageTime results
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SampleTime, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoryJoinBenchmark {
+
+    private static final String EMAIL = "bench@example.com";
+
+    @Param({"10", "100", "1000"})
+    public int bookings;
+
+    @Param({"0", "200"})
+    public long roundTripMicros;
+
+    private List<Booking> history;
+    private BookingService bookingService;
+    private FlightRepository flightRepository;
+    private final LongAdder issued = new LongAdder();
+
+    // queries sent per history request: roundTrips / requests is N + 1 on one side and 2 on
+    // the other, whatever the timings say
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Queries {
+
+        public long roundTrips;
+        public long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            roundTrips = 0;
+            requests = 0;
+        }
+
+        <T> T count(LongAdder issued, Supplier<T> request) {
+            long before = issued.sum();
+            T result = request.get();
+            roundTrips += issued.sum() - before;
+            requests++;
+            return result;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        // a flyer with some repeat flights: two bookings per flight on average
+        List<Flight> flights = BenchmarkFixtures.flights(Math.max(1, bookings / 2));
+        Map<String, Flight> flightsById = flights.stream()
+                .collect(Collectors.toMap(Flight::getId, Function.identity()));
+
+        history = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            Booking booking = BenchmarkFixtures.booking(2);
+            booking.setId(String.format("665f1c2e8a1b2c3d4e%06d", i));
+            booking.setPnr(String.format("%012d", i));
+            booking.setFlightId(flights.get(i % flights.size()).getId());
+            booking.setFlight(null);
+            booking.setBookedAt(booking.getBookedAt().minusHours(i));
+            history.add(booking);
+        }
+        history.sort(Comparator.comparing(Booking::getBookedAt).reversed());
+
+        BookingRepository bookingRepository = mock(BookingRepository.class, withSettings().stubOnly());
+        when(bookingRepository.findHistory(EMAIL))
+                .thenAnswer(invocation -> roundTrip(Flux.fromIterable(history)));
+
+        flightRepository = mock(FlightRepository.class, withSettings().stubOnly());
+        when(flightRepository.findTicketView(anyString()))
+                .thenAnswer(invocation -> roundTrip(Mono.justOrEmpty(flightsById.get(invocation.<String>getArgument(0)))));
+        when(flightRepository.findTicketViews(anyCollection()))
+                .thenAnswer(invocation -> roundTrip(Flux.fromIterable(invocation.<Collection<String>>getArgument(0))
+                        .map(flightsById::get)));
+        bookingService = BenchmarkFixtures.bookingService(BenchmarkFixtures.metrics(), bookingRepository, flightRepository);
+    }
+
+    // the old path also read the history first, so it is counted as one of its queries
+    @Benchmark
+    public List<TicketResponse> perBookingLookup(Queries queries) {
+        return queries.count(issued, () -> roundTrip(Flux.fromIterable(history))
+                .flatMapSequential(booking -> flightRepository.findTicketView(booking.getFlightId())
+                        .map(flight -> bookingService.mapToTicketResponse(booking, flight)))
+                .collectList()
+                .block());
+    }
+
+    @Benchmark
+    public List<TicketResponse> batchedJoin(Queries queries) {
+        return queries.count(issued, () -> bookingService.getBookingHistory(EMAIL).collectList().block());
+    }
+
+    // a query counts once it is sent, i.e. on subscription
+    private <T> Flux<T> roundTrip(Flux<T> reply) {
+        Flux<T> sent = Flux.defer(() -> {
+            issued.increment();
+            return reply;
+        });
+        return roundTripMicros > 0 ? sent.delaySubscription(Duration.ofNanos(roundTripMicros * 1000)) : sent;
+    }
+
+    private <T> Mono<T> roundTrip(Mono<T> reply) {
+        Mono<T> sent = Mono.defer(() -> {
+            issued.increment();
+            return reply;
+        });
+        return roundTripMicros > 0 ? sent.delaySubscription(Duration.ofNanos(roundTripMicros * 1000)) : sent;
+    }
+}
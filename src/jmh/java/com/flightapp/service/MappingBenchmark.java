@@ -0,0 +1,67 @@
+package com.flightapp.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.TicketResponse;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+
+// entity-to-DTO mapping and the booking request checks that run before any Mongo call
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1", "9"})
+    public int seats;
+
+    private BookingService bookingService;
+    private Flight flight;
+    private Booking booking;
+    private BookingRequest request;
+
+    @Setup
+    public void setUp() {
+        bookingService = BenchmarkFixtures.bookingService(BenchmarkFixtures.metrics());
+        flight = BenchmarkFixtures.flight();
+        booking = BenchmarkFixtures.booking(seats);
+        request = BenchmarkFixtures.bookingRequest(seats);
+    }
+
+    @Benchmark
+    public TicketResponse mapToTicketResponse() {
+        return bookingService.mapToTicketResponse(booking, flight);
+    }
+
+    @Benchmark
+    public TicketResponse mapSnapshotToTicketResponse() {
+        return bookingService.mapToTicketResponse(booking);
+    }
+
+    @Benchmark
+    public FlightSearchResponse mapToSearchResponse() {
+        return FlightService.mapToSearchResponse(flight);
+    }
+
+    @Benchmark
+    public String validateBookingRequest() {
+        return bookingService.validateBookingRequest(request);
+    }
+}
@@ -0,0 +1,43 @@
+package com.flightapp.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PnrGeneratorBenchmark {
+
+    private PnrGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new PnrGenerator(0, PnrGenerator.DEFAULT_ALPHABET);
+    }
+
+    @Benchmark
+    public String generatePnr() {
+        return generator.generatePnr();
+    }
+
+    // all threads advance the same sequence, so this shows the cost of CAS contention
+    @Benchmark
+    @Threads(4)
+    public String generatePnrContended() {
+        return generator.generatePnr();
+    }
+}
@@ -0,0 +1,136 @@
+package com.flightapp.service;
+
+import java.nio.ByteBuffer;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightapp.repository.FlightFields;
+
+// what the driver decodes per flight for a full document, the ticket projection and an
+// id-only projection; the decodedBytes counter reports the wire size per operation
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private final DocumentCodec codec = new DocumentCodec();
+
+    private byte[] full;
+    private byte[] ticket;
+    private byte[] idOnly;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bytes {
+
+        public long decodedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            decodedBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Document document = flightDocument();
+        full = encode(document);
+        ticket = encode(project(document, FlightFields.TICKET));
+        idOnly = encode(project(document));
+    }
+
+    @Benchmark
+    public Document decodeFullFlight(Bytes bytes) {
+        return decode(full, bytes);
+    }
+
+    @Benchmark
+    public Document decodeTicketProjection(Bytes bytes) {
+        return decode(ticket, bytes);
+    }
+
+    @Benchmark
+    public Document decodeIdProjection(Bytes bytes) {
+        return decode(idOnly, bytes);
+    }
+
+    private Document decode(byte[] bson, Bytes bytes) {
+        bytes.decodedBytes += bson.length;
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bson))) {
+            return codec.decode(reader, DecoderContext.builder().build());
+        }
+    }
+
+    private byte[] encode(Document document) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            codec.encode(writer, document, EncoderContext.builder().build());
+        }
+        return buffer.toByteArray();
+    }
+
+    private static Document project(Document document, String... fields) {
+        List<String> keep = Arrays.asList(fields);
+        Document projected = new Document("_id", document.get("_id"));
+        document.forEach((key, value) -> {
+            if (keep.contains(key)) {
+                projected.put(key, value);
+            }
+        });
+        return projected;
+    }
+
+    // the shape Spring Data writes for a Flight
+    private static Document flightDocument() {
+        Date departureDate = Date.from(BenchmarkFixtures.TRAVEL_DATE.atStartOfDay().toInstant(ZoneOffset.UTC));
+        return new Document("_id", new ObjectId())
+                .append("airlineName", "Bench Air")
+                .append("airlineLogoUrl", "https://example.com/logos/bench-air/logo-large.png")
+                .append("fromPlace", "Kolkata")
+                .append("toPlace", "Delhi")
+                .append("fromKey", "KOLKATA")
+                .append("toKey", "DELHI")
+                .append("routeKey", "KOLKATA|DELHI")
+                .append("departureDate", departureDate)
+                .append("departureTime", time(LocalTime.of(10, 30)))
+                .append("arrivalTime", time(LocalTime.of(12, 45)))
+                .append("roundTripAvailable", true)
+                .append("oneWayPrice", "5000")
+                .append("roundTripPrice", "9000")
+                .append("totalSeats", 180)
+                .append("availableSeats", 143)
+                .append("_class", "com.flightapp.model.Flight");
+    }
+
+    private static Date time(LocalTime time) {
+        return Date.from(time.atDate(BenchmarkFixtures.TRAVEL_DATE).toInstant(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,130 @@
+package com.flightapp.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.MongoRegexCreator;
+import org.springframework.data.mongodb.core.query.MongoRegexCreator.MatchMode;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.flightapp.config.MongoIndexInitializer;
+import com.flightapp.config.ReadRoutes;
+import com.flightapp.model.Flight;
+import com.flightapp.model.RouteKeys;
+import com.flightapp.repository.FlightInventoryRepositoryImpl;
+import com.flightapp.repository.FlightSearchRepositoryImpl;
+
+import reactor.core.publisher.Flux;
+
+// flight search over a large schedule on a real mongod (see BenchmarkMongo) carrying the
+// application's own indexes. The old derived IgnoreCase query sends anchored case-insensitive
+// regexes, which cannot bound an index scan on the place names; the new search is
+// FlightSearchRepositoryImpl.findForSearch, an exact match on (routeKey, departureDate)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RouteSearchBenchmark {
+
+    private static final String[] PLACES = {
+            "Kolkata", "Delhi", "Mumbai", "Chennai", "Bengaluru", "Hyderabad", "Pune", "Ahmedabad",
+            "Jaipur", "Lucknow", "Goa", "Kochi", "Guwahati", "Bhubaneswar", "Patna", "Srinagar",
+            "Amritsar", "Varanasi", "Indore", "Nagpur", "Ranchi", "Raipur", "Coimbatore", "Madurai",
+            "Trivandrum", "Mangaluru", "Vizag", "Vijayawada", "Dehradun", "Chandigarh", "Leh", "Port Blair",
+            "Bagdogra", "Agartala", "Imphal", "Dibrugarh", "Udaipur", "Jodhpur", "Surat", "Vadodara"};
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2030, 1, 1);
+    private static final int SEED_BATCH = 10_000;
+
+    @Param({"1000000"})
+    public int flights;
+
+    private BenchmarkMongo mongo;
+    private ReactiveMongoTemplate template;
+    private FlightSearchRepositoryImpl search;
+
+    // searched with the spelling a user would type, not the stored one
+    private final String fromPlace = "kolkata";
+    private final String toPlace = "DELHI";
+    private final LocalDate travelDate = FIRST_DATE.plusDays(100);
+
+    @Setup
+    public void setUp() {
+        mongo = BenchmarkMongo.start("flightdb_bench_search", 10);
+        template = mongo.template();
+        search = new FlightSearchRepositoryImpl(template,
+                new ReadRoutes("primary", "primary", "primary", Duration.ofSeconds(90)));
+
+        FlightInventoryRepositoryImpl inventory = new FlightInventoryRepositoryImpl(template);
+        template.dropCollection(Flight.class)
+                .thenMany(Flux.range(0, (flights + SEED_BATCH - 1) / SEED_BATCH)
+                        .concatMap(batch -> inventory.insertUnordered(schedule(batch * SEED_BATCH,
+                                Math.min(flights, (batch + 1) * SEED_BATCH)))))
+                .then()
+                .block();
+
+        new MongoIndexInitializer(template, true, Duration.ofMinutes(10)).apply().block();
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongo.close();
+    }
+
+    // what findByFromPlaceIgnoreCaseAndToPlaceIgnoreCaseAndDepartureDate sent to the server
+    @Benchmark
+    public List<Flight> caseInsensitiveRegexQuery() {
+        Query query = Query.query(Criteria
+                .where("fromPlace").regex(MongoRegexCreator.INSTANCE.toRegularExpression(fromPlace, MatchMode.EXACT), "i")
+                .and("toPlace").regex(MongoRegexCreator.INSTANCE.toRegularExpression(toPlace, MatchMode.EXACT), "i")
+                .and("departureDate").is(travelDate));
+        return template.find(query, Flight.class).collectList().block();
+    }
+
+    @Benchmark
+    public List<Flight> routeKeyLookup() {
+        return search.findForSearch(RouteKeys.routeKey(fromPlace, toPlace), travelDate, true)
+                .collectList()
+                .block();
+    }
+
+    // every ordered pair of places in turn, a day further on each time all routes are used
+    private static List<Flight> schedule(int from, int to) {
+        int routes = PLACES.length * (PLACES.length - 1);
+        List<Flight> batch = new ArrayList<>(to - from);
+
+        for (int i = from; i < to; i++) {
+            int route = i % routes;
+            int origin = route / (PLACES.length - 1);
+            int destination = (origin + 1 + route % (PLACES.length - 1)) % PLACES.length;
+
+            Flight flight = BenchmarkFixtures.flight();
+            flight.setId(null);
+            flight.setFromPlace(PLACES[origin]);
+            flight.setToPlace(PLACES[destination]);
+            flight.setDepartureDate(FIRST_DATE.plusDays((i / routes) % 365));
+            RouteKeys.apply(flight);
+            batch.add(flight);
+        }
+        return batch;
+    }
+}
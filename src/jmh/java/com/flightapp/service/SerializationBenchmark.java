@@ -0,0 +1,57 @@
+package com.flightapp.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.TicketResponse;
+
+// response bodies as the WebFlux encoder writes them (java.time as ISO strings, like Boot's mapper)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TicketResponse ticket;
+    private FlightSearchResponse searchResult;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        BookingService bookingService = BenchmarkFixtures.bookingService(BenchmarkFixtures.metrics());
+        ticket = bookingService.mapToTicketResponse(BenchmarkFixtures.booking(4), BenchmarkFixtures.flight());
+        searchResult = FlightService.mapToSearchResponse(BenchmarkFixtures.flight());
+    }
+
+    @Benchmark
+    public byte[] serializeTicket() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ticket);
+    }
+
+    @Benchmark
+    public byte[] serializeSearchResult() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(searchResult);
+    }
+}
@@ -0,0 +1,298 @@
+package com.flightapp.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.flightapp.loadtest.LoadTestConfig.Scenario;
+import com.flightapp.model.Flight;
+import com.mongodb.ReadPreference;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+// open-model load: requests arrive at a fixed rate whether or not earlier ones finished,
+// so a slow server shows up as latency and drops instead of as a quietly lower request rate
+final class LoadDriver {
+
+    private static final String FROM = "Kolkata";
+    private static final String TO = "Delhi";
+    private static final Duration TICK = Duration.ofMillis(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final char[] SEAT_LETTERS = "ABCDEF".toCharArray();
+
+    private final LoadTestConfig config;
+    private final WebClient client;
+    private final ReactiveMongoOperations mongo;
+    private final LocalDate travelDate = LocalDate.now().plusDays(30);
+
+    private final List<SeededFlight> flights = new ArrayList<>();
+    private final ConcurrentLinkedQueue<BookedTicket> booked = new ConcurrentLinkedQueue<>();
+
+    private final Map<Scenario, Histogram> latencies = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> completed = new EnumMap<>(Scenario.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private final int[] mixTable;
+
+    LoadDriver(LoadTestConfig config, String target, ReactiveMongoOperations mongo) {
+        this.config = config;
+        this.mongo = mongo;
+
+        ConnectionProvider connections = ConnectionProvider.builder("loadtest")
+                .maxConnections(config.maxInFlight())
+                .pendingAcquireMaxCount(-1)
+                .build();
+
+        this.client = WebClient.builder()
+                .baseUrl(target + "/api/v1.0/flight")
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+
+        for (Scenario scenario : Scenario.values()) {
+            latencies.put(scenario, new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3));
+            completed.put(scenario, new LongAdder());
+        }
+
+        // one slot per unit of weight, so picking a scenario is a single random index
+        this.mixTable = config.mix().entrySet().stream()
+                .flatMapToInt(e -> IntStream.generate(() -> e.getKey().ordinal()).limit(e.getValue()))
+                .toArray();
+    }
+
+    Mono<Void> seed() {
+        return Flux.range(0, config.flights())
+                .concatMap(i -> client.post()
+                        .uri("/airline/inventory")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of(
+                                "airlineName", "Load Air " + i,
+                                "fromPlace", FROM,
+                                "toPlace", TO,
+                                "departureDate", travelDate.toString(),
+                                "departureTime", LocalTime.of(6, 0).plusMinutes(20L * i).toString(),
+                                "arrivalTime", LocalTime.of(8, 15).plusMinutes(20L * i).toString(),
+                                "oneWayPrice", 4000 + 25 * i,
+                                "totalSeats", config.seatsPerFlight()))
+                        .retrieve()
+                        .bodyToMono(JsonNode.class)
+                        .doOnNext(flight -> flights.add(new SeededFlight(
+                                flight.get("flightId").asText(), config.seatsPerFlight()))))
+                .then();
+    }
+
+    Mono<LoadReport> run() {
+
+        long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        Duration total = config.warmup().plus(config.duration());
+        double perTick = config.rate() * TICK.toNanos() / 1_000_000_000d;
+        double[] credit = {0};
+
+        return Flux.interval(TICK)
+                .take(total.toMillis() / TICK.toMillis())
+                .flatMapIterable(tick -> {
+                    credit[0] += perTick;
+                    int arrivals = (int) credit[0];
+                    credit[0] -= arrivals;
+                    return IntStream.range(0, arrivals).boxed().toList();
+                })
+                // past max-in-flight the client itself is the bottleneck; count it, don't queue it
+                .onBackpressureDrop(ignored -> {
+                    if (System.nanoTime() >= warmupEnd) {
+                        dropped.increment();
+                    }
+                })
+                .flatMap(ignored -> execute(pickScenario(), System.nanoTime() >= warmupEnd),
+                        config.maxInFlight())
+                .then(verifyInventory())
+                .map(inventory -> new LoadReport(config, latencies, completed, errors,
+                        dropped.sum(), inventory));
+    }
+
+    private Scenario pickScenario() {
+        Scenario scenario = Scenario.values()[mixTable[ThreadLocalRandom.current().nextInt(mixTable.length)]];
+        // nothing to cancel yet early in the run; keep the arrival instead of wasting it
+        return scenario == Scenario.CANCEL && booked.isEmpty() ? Scenario.SEARCH : scenario;
+    }
+
+    private Mono<Void> execute(Scenario scenario, boolean measured) {
+
+        Mono<?> call = switch (scenario) {
+            case SEARCH -> search();
+            case BOOK -> book();
+            case CANCEL -> cancel();
+            case HISTORY -> history();
+        };
+
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return call.timeout(REQUEST_TIMEOUT)
+                            .doOnSuccess(ignored -> {
+                                if (measured) {
+                                    record(scenario, start);
+                                }
+                            })
+                            .doOnError(e -> {
+                                if (measured) {
+                                    record(scenario, start);
+                                    errors.computeIfAbsent(scenario + " " + classify(e), k -> new LongAdder())
+                                            .increment();
+                                }
+                            });
+                })
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private void record(Scenario scenario, long startNanos) {
+        latencies.get(scenario).recordValue(
+                Math.max(1, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos)));
+        completed.get(scenario).increment();
+    }
+
+    private static String classify(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return String.valueOf(response.getStatusCode().value());
+        }
+        return error.getClass().getSimpleName();
+    }
+
+    private Mono<?> search() {
+        // searches are admitted per user; without the header they'd all share the driver's address
+        return client.post()
+                .uri("/search")
+                .header("X-User-Email", userEmail(ThreadLocalRandom.current().nextInt(config.users())))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of(
+                        "fromPlace", FROM,
+                        "toPlace", TO,
+                        "travelDate", travelDate.toString(),
+                        "tripType", "ONE_WAY"))
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    private Mono<?> book() {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int flightIndex = flights.size() == 1 || random.nextDouble() < config.hotShare()
+                ? 0
+                : 1 + random.nextInt(flights.size() - 1);
+        SeededFlight flight = flights.get(flightIndex);
+
+        // seats are handed out in order, so once a flight runs out every later request for it
+        // must be rejected as sold out: exactly the case the oversell check is about
+        int seats = 1 + random.nextInt(2);
+        int firstSeat = flight.nextSeat().getAndAdd(seats);
+        List<String> seatNumbers = IntStream.range(firstSeat, firstSeat + seats)
+                .mapToObj(LoadDriver::seatLabel)
+                .toList();
+        String email = userEmail(random.nextInt(config.users()));
+
+        Map<String, Object> request = Map.of(
+                "userName", "Load User",
+                "userEmail", email,
+                "numberOfSeats", seats,
+                "passengers", seatNumbers.stream()
+                        .map(seat -> Map.of("name", "Passenger " + seat, "gender", "OTHER", "age", 30))
+                        .toList(),
+                "seatNumbers", seatNumbers,
+                "mealType", "VEG");
+
+        return client.post()
+                .uri("/booking/{flightId}", flight.id())
+                .header("X-User-Email", email)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .doOnNext(ticket -> {
+                    flight.bookedSeats().add(seats);
+                    booked.add(new BookedTicket(ticket.get("pnr").asText(), email, flight, seats));
+                });
+    }
+
+    private Mono<?> cancel() {
+
+        BookedTicket ticket = booked.poll();
+        if (ticket == null) {
+            return Mono.empty();
+        }
+
+        return client.delete()
+                .uri("/booking/cancel/{pnr}", ticket.pnr())
+                .header("X-User-Email", ticket.email())
+                .retrieve()
+                .toBodilessEntity()
+                .doOnSuccess(ignored -> ticket.flight().bookedSeats().add(-ticket.seats()));
+    }
+
+    private Mono<?> history() {
+        String email = userEmail(ThreadLocalRandom.current().nextInt(config.users()));
+        return client.get()
+                .uri("/booking/history/{email}/page?limit=20", email)
+                .header("X-User-Email", email)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    // what the database holds as sold, next to what the driver saw confirmed; read straight from
+    // the primary, since /search may answer from its cache or a lagging secondary
+    private Mono<List<LoadReport.FlightInventory>> verifyInventory() {
+        Query query = Query.query(Criteria.where("id").in(flights.stream().map(SeededFlight::id).toList()))
+                .withReadPreference(ReadPreference.primary());
+        query.fields().include("availableSeats");
+
+        return mongo.find(query, Flight.class)
+                .collectMap(Flight::getId, Flight::getAvailableSeats)
+                .map(available -> flights.stream()
+                        .map(flight -> new LoadReport.FlightInventory(
+                                flight.id(),
+                                flight.totalSeats(),
+                                available.getOrDefault(flight.id(), Integer.MIN_VALUE),
+                                flight.bookedSeats().sum()))
+                        .toList());
+    }
+
+    private static String userEmail(int user) {
+        return "user" + user + "@loadtest.local";
+    }
+
+    private static String seatLabel(int index) {
+        return (index / SEAT_LETTERS.length + 1) + String.valueOf(SEAT_LETTERS[index % SEAT_LETTERS.length]);
+    }
+
+    private record SeededFlight(String id, int totalSeats, AtomicInteger nextSeat, LongAdder bookedSeats) {
+        SeededFlight(String id, int totalSeats) {
+            this(id, totalSeats, new AtomicInteger(), new LongAdder());
+        }
+    }
+
+    private record BookedTicket(String pnr, String email, SeededFlight flight, int seats) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.flightapp.loadtest;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+
+import com.flightapp.loadtest.LoadTestConfig.Scenario;
+
+// latency percentiles are in milliseconds, measured from request start to response end
+record LoadReport(
+        LoadTestConfig config,
+        Map<Scenario, Histogram> latencies,
+        Map<Scenario, LongAdder> completed,
+        Map<String, LongAdder> errors,
+        long dropped,
+        List<FlightInventory> inventory) {
+
+    // sold = what the server says is gone; confirmed = bookings the driver saw succeed, net of cancels
+    record FlightInventory(String flightId, int totalSeats, int availableSeats, long confirmedSeats) {
+
+        long soldSeats() {
+            return (long) totalSeats - availableSeats;
+        }
+
+        boolean oversold() {
+            return availableSeats < 0 || confirmedSeats > totalSeats || soldSeats() > totalSeats;
+        }
+    }
+
+    boolean oversold() {
+        return inventory.stream().anyMatch(FlightInventory::oversold);
+    }
+
+    void print(PrintStream out) {
+
+        double seconds = config.duration().toMillis() / 1000d;
+
+        out.printf("%nLoad test: %.0f req/s offered for %s (after %s warmup), max %d in flight, hot share %.2f%n",
+                config.rate(), config.duration(), config.warmup(), config.maxInFlight(), config.hotShare());
+        out.printf("%n%-10s %10s %10s %9s %9s %9s %9s%n",
+                "scenario", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+
+        long total = 0;
+        for (Scenario scenario : Scenario.values()) {
+            long count = completed.get(scenario).sum();
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            Histogram histogram = latencies.get(scenario);
+            out.printf("%-10s %10d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    scenario, count, count / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxValue()));
+        }
+        out.printf("%-10s %10d %10.1f%n", "total", total, total / seconds);
+        out.printf("dropped at the client (max in flight reached): %d%n", dropped);
+
+        out.printf("%nErrors:%n");
+        if (errors.isEmpty()) {
+            out.println("  none");
+        }
+        new TreeMap<>(errors).forEach((key, count) -> out.printf("  %-28s %d%n", key, count.sum()));
+
+        out.printf("%nInventory (oversell check):%n");
+        out.printf("  %-26s %7s %9s %6s %9s%n", "flight", "total", "available", "sold", "confirmed");
+        for (FlightInventory flight : inventory) {
+            out.printf("  %-26s %7d %9d %6d %9d%s%n",
+                    flight.flightId(), flight.totalSeats(), flight.availableSeats(),
+                    flight.soldSeats(), flight.confirmedSeats(),
+                    flight.oversold() ? "  OVERSOLD"
+                            : flight.soldSeats() != flight.confirmedSeats() ? "  (timed-out requests)" : "");
+        }
+        out.printf("%nRESULT: %s%n", oversold() ? "OVERSOLD" : "no flight oversold");
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000d;
+    }
+}
@@ -0,0 +1,67 @@
+package com.flightapp.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// load test knobs, read from -Dloadtest.* system properties (see the loadtest profile in pom.xml)
+record LoadTestConfig(
+        String target,
+        String mongoUri,
+        String mongoVersion,
+        Duration duration,
+        Duration warmup,
+        double rate,
+        int maxInFlight,
+        int flights,
+        int seatsPerFlight,
+        double hotShare,
+        int users,
+        Map<Scenario, Integer> mix) {
+
+    enum Scenario {
+        SEARCH, BOOK, CANCEL, HISTORY
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                property("target", ""),
+                property("mongo-uri", "mongodb://localhost:27017/flightdb"),
+                property("mongo-version", "7.0"),
+                Duration.parse(property("duration", "PT60S")),
+                Duration.parse(property("warmup", "PT10S")),
+                Double.parseDouble(property("rate", "200")),
+                Integer.parseInt(property("max-in-flight", "256")),
+                Integer.parseInt(property("flights", "20")),
+                Integer.parseInt(property("seats-per-flight", "150")),
+                Double.parseDouble(property("hot-share", "0.5")),
+                Integer.parseInt(property("users", "200")),
+                parseMix(property("mix", "search=60,book=25,cancel=5,history=10")));
+    }
+
+    boolean embedded() {
+        return target.isBlank();
+    }
+
+    // "search=60,book=25" -> weights per scenario; scenarios left out get no traffic
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Bad loadtest.mix entry: " + part);
+            }
+            weights.put(Scenario.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)),
+                    Integer.parseInt(pair[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one positive weight");
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
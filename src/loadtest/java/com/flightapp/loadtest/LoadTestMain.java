@@ -0,0 +1,74 @@
+package com.flightapp.loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.flightapp.FlightWebfluxMongoApplication;
+import com.mongodb.ConnectionString;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+
+// mvn -Ploadtest -DskipTests verify [-Dloadtest.rate=500 -Dloadtest.duration=PT2M ...]
+// without -Dloadtest.target the app is started here against an embedded mongod; with one,
+// -Dloadtest.mongo-uri must point at the app's database for the oversell check;
+// fails (and so fails the build) when any flight ends up oversold
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) {
+
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        boolean oversold;
+
+        if (config.embedded()) {
+            try (TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance()
+                    .start(Version.Main.valueOf("V" + config.mongoVersion().replace('.', '_')))) {
+
+                ServerAddress address = mongod.current().getServerAddress();
+                try (ConfigurableApplicationContext app = new SpringApplicationBuilder(FlightWebfluxMongoApplication.class)
+                        .properties(
+                                "server.port=0",
+                                "spring.data.mongodb.uri=mongodb://" + address.getHost() + ":" + address.getPort()
+                                        + "/flightdb_loadtest",
+                                "spring.data.mongodb.database=flightdb_loadtest",
+                                "flightapp.pnr.node-id=0",
+                                "logging.level.com.flightapp=INFO")
+                        .run(args)) {
+
+                    oversold = run(config, "http://localhost:" + app.getEnvironment().getProperty("local.server.port"),
+                            app.getBean(ReactiveMongoTemplate.class));
+                }
+            }
+        } else {
+            // the oversell check reads the flights from the primary, not through the app
+            ConnectionString mongoUri = new ConnectionString(config.mongoUri());
+            if (mongoUri.getDatabase() == null) {
+                throw new IllegalArgumentException("loadtest.mongo-uri must name the app's database");
+            }
+            try (MongoClient mongo = MongoClients.create(mongoUri)) {
+                oversold = run(config, config.target(), new ReactiveMongoTemplate(mongo, mongoUri.getDatabase()));
+            }
+        }
+
+        if (oversold) {
+            throw new IllegalStateException("Load test oversold at least one flight");
+        }
+    }
+
+    private static boolean run(LoadTestConfig config, String target, ReactiveMongoTemplate mongo) {
+        LoadDriver driver = new LoadDriver(config, target, mongo);
+        driver.seed().block();
+        LoadReport report = driver.run().block();
+        report.print(System.out);
+        return report.oversold();
+    }
+}
@@ -0,0 +1,20 @@
+package com.flightapp.config;
+
+import java.time.Duration;
+
+import reactor.core.publisher.Mono;
+
+// a change to the stored data or its indexes that has to be in place before requests are served;
+// MigrationRunner applies the enabled ones in @Order and skips those already recorded as applied
+public interface Migration {
+
+    // recorded once the migration has run to the end; a new id makes it run again
+    String id();
+
+    boolean enabled();
+
+    // how long startup waits for it
+    Duration timeout();
+
+    Mono<Void> apply();
+}
@@ -0,0 +1,81 @@
+package com.flightapp.config;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.model.AppliedMigration;
+
+// applies the startup migrations before anything takes traffic: it starts ahead of the booking
+// journal and the web server, and scheduled jobs are only scheduled once every lifecycle bean is
+// up. Each finished migration is recorded in the migrations collection, so a restart skips it;
+// one that fails stops startup and runs again on the next start. Instances starting together may
+// both run a migration, which is why every migration is idempotent
+@Component
+public class MigrationRunner implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(MigrationRunner.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final List<Migration> migrations;
+
+    private volatile boolean running;
+
+    public MigrationRunner(ReactiveMongoTemplate mongoTemplate, List<Migration> migrations) {
+        this.mongoTemplate = mongoTemplate;
+        this.migrations = migrations;
+    }
+
+    @Override
+    public void start() {
+        for (Migration migration : migrations) {
+            if (!migration.enabled()) {
+                log.info("Migration {} is disabled", migration.id());
+            } else if (applied(migration)) {
+                log.debug("Migration {} already applied", migration.id());
+            } else {
+                apply(migration);
+            }
+        }
+        running = true;
+    }
+
+    private boolean applied(Migration migration) {
+        return Boolean.TRUE.equals(mongoTemplate.exists(
+                        Query.query(Criteria.where("id").is(migration.id())), AppliedMigration.class)
+                .block(migration.timeout()));
+    }
+
+    private void apply(Migration migration) {
+        long started = System.nanoTime();
+        migration.apply()
+                .then(mongoTemplate.save(AppliedMigration.of(migration.id(), LocalDateTime.now())))
+                .block(migration.timeout());
+        log.info("Applied migration {} in {} ms", migration.id(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ahead of the booking journal (phase 0), whose replay writes bookings, and the web server
+    @Override
+    public int getPhase() {
+        return -100;
+    }
+}
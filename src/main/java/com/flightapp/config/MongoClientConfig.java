@@ -0,0 +1,42 @@
+package com.flightapp.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// pool and socket limits for the reactive driver; without them a search spike queues on the
+// pool for up to the driver's 2 minute default wait instead of failing fast
+@Configuration
+public class MongoClientConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientTuning(
+            @Value("${flightapp.mongo.pool.min-size:5}") int minSize,
+            @Value("${flightapp.mongo.pool.max-size:100}") int maxSize,
+            @Value("${flightapp.mongo.pool.max-connecting:4}") int maxConnecting,
+            @Value("${flightapp.mongo.pool.max-wait:PT1S}") Duration maxWait,
+            @Value("${flightapp.mongo.pool.max-idle:PT5M}") Duration maxIdle,
+            @Value("${flightapp.mongo.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${flightapp.mongo.read-timeout:PT10S}") Duration readTimeout,
+            @Value("${flightapp.mongo.server-selection-timeout:PT3S}") Duration serverSelectionTimeout) {
+
+        // the driver has no separate wait-queue size any more: waiters are bounded by
+        // max-wait, and max-connecting caps how many new connections open at once
+        return builder -> builder
+                .applyToConnectionPoolSettings(pool -> pool
+                        .minSize(minSize)
+                        .maxSize(maxSize)
+                        .maxConnecting(maxConnecting)
+                        .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(maxIdle.toMillis(), TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout((int) connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout((int) readTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(serverSelectionTimeout.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
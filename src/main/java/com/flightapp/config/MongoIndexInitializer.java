@@ -0,0 +1,235 @@
+package com.flightapp.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.model.Booking;
+import com.flightapp.model.BookingHold;
+import com.flightapp.model.Flight;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// creates the indexes the hot queries depend on, then reports what each collection has. Run as a
+// migration whose id is a fingerprint of the index definitions, so the indexes are ensured again
+// only after a deploy that adds, drops or changes one
+@Component
+@Order(0)
+public class MongoIndexInitializer implements Migration {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private static final String PNR_INDEX = "uk_bookings_pnr";
+    private static final int MAX_REPORTED_DUPLICATES = 20;
+
+    private static final List<IndexSpec> INDEXES = List.of(
+            new IndexSpec(Booking.class, new Index()
+                    .on("pnr", Direction.ASC)
+                    .unique()
+                    .named(PNR_INDEX)),
+            new IndexSpec(Booking.class, new Index()
+                    .on("userEmail", Direction.ASC)
+                    .on("bookedAt", Direction.DESC)
+                    .on("_id", Direction.DESC)
+                    .named("ix_bookings_user_history")),
+            // flight snapshot propagation and backfill update bookings per flight
+            new IndexSpec(Booking.class, new Index()
+                    .on("flightId", Direction.ASC)
+                    .on("flight.scheduleVersion", Direction.ASC)
+                    .named("ix_bookings_flight_snapshot")),
+            // only cancellations whose seats are not back yet, for CancelledSeatReleaseJob
+            new IndexSpec(Booking.class, new Index()
+                    .on("cancelledAt", Direction.ASC)
+                    .partial(PartialIndexFilter.of(Criteria.where("seatsReleased").is(false)))
+                    .named("ix_bookings_unreleased_cancel")),
+            new IndexSpec(Flight.class, new Index()
+                    .on("routeKey", Direction.ASC)
+                    .on("departureDate", Direction.ASC)
+                    .named("ix_flights_routekey_date")),
+            new IndexSpec(Flight.class, new Index()
+                    .on("departureDate", Direction.ASC)
+                    .named("ix_flights_departure_date")),
+            new IndexSpec(Flight.class, new Index()
+                    .on("scheduleChangedAt", Direction.ASC)
+                    .sparse()
+                    .named("ix_flights_schedule_changed")),
+            // serves the sweeper's expiresAt scan. Deliberately not a TTL index: deleting a hold
+            // outside the sweeper would keep its seats out of availableSeats and seat_holds for good
+            new IndexSpec(BookingHold.class, new Index()
+                    .on("expiresAt", Direction.ASC)
+                    .named("ix_booking_holds_expires_at")));
+
+    private static final List<DroppedIndex> DROPPED = List.of(
+            // the collation index the search used before route keys existed
+            new DroppedIndex(Flight.class, "ix_flights_route_date"),
+            // the TTL index an earlier version created on expiresAt; dropped before
+            // ix_booking_holds_expires_at is built over the same key
+            new DroppedIndex(BookingHold.class, "ix_booking_holds_expires"));
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Duration timeout;
+
+    public MongoIndexInitializer(ReactiveMongoTemplate mongoTemplate,
+                                 @Value("${flightapp.mongo.indexes.enabled:true}") boolean enabled,
+                                 @Value("${flightapp.mongo.indexes.timeout:PT60S}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String id() {
+        return "indexes-" + fingerprint();
+    }
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public Duration timeout() {
+        return timeout;
+    }
+
+    @Override
+    public Mono<Void> apply() {
+        return createIndexes()
+                .thenMany(reportIndexes())
+                .then(log.isDebugEnabled() ? explainHotQueries() : Mono.empty());
+    }
+
+    static String fingerprint() {
+        StringBuilder definitions = new StringBuilder();
+        INDEXES.forEach(spec -> definitions.append(spec.type().getSimpleName())
+                .append(spec.index().getIndexKeys().toJson())
+                .append(spec.index().getIndexOptions().toJson())
+                .append('\n'));
+        DROPPED.forEach(dropped -> definitions.append(dropped.type().getSimpleName())
+                .append(" drop ").append(dropped.name())
+                .append('\n'));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(definitions.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Mono<Void> createIndexes() {
+
+        Flux<String> dropped = Flux.fromIterable(DROPPED)
+                .concatMap(index -> mongoTemplate.indexOps(index.type())
+                        .dropIndex(index.name())
+                        .thenReturn(index.name() + " (dropped)")
+                        .onErrorResume(e -> Mono.empty()));
+
+        Flux<String> created = Flux.fromIterable(INDEXES)
+                .concatMap(spec -> mongoTemplate.indexOps(spec.type()).createIndex(spec.index()));
+
+        return rejectDuplicatePnrs()
+                .thenMany(Flux.concat(dropped, created))
+                .doOnNext(name -> log.info("Ensured Mongo index {}", name))
+                .then();
+    }
+
+    // a unique index cannot be built over duplicates, and the server's E11000 on startup does
+    // not say which bookings clash; checked only while the index does not exist yet
+    private Mono<Void> rejectDuplicatePnrs() {
+        Aggregation duplicates = Aggregation.newAggregation(
+                        Aggregation.group("pnr").count().as("count"),
+                        Aggregation.match(Criteria.where("count").gt(1)),
+                        Aggregation.limit(MAX_REPORTED_DUPLICATES))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        return mongoTemplate.indexOps(Booking.class).getIndexInfo()
+                .any(index -> PNR_INDEX.equals(index.getName()))
+                .filter(exists -> !exists)
+                .flatMap(missing -> mongoTemplate.aggregate(duplicates, Booking.class, Document.class)
+                        .map(group -> group.get("_id") + " (" + group.get("count") + " bookings)")
+                        .collectList())
+                .flatMap(clashes -> clashes.isEmpty()
+                        ? Mono.<Void>empty()
+                        : Mono.error(new IllegalStateException("Cannot create unique index " + PNR_INDEX
+                                + ": bookings share a PNR, resolve these first (at most "
+                                + MAX_REPORTED_DUPLICATES + " shown): " + clashes)));
+    }
+
+    private Flux<Void> reportIndexes() {
+        return Flux.just(Booking.class, Flight.class, BookingHold.class)
+                .concatMap(type -> mongoTemplate.indexOps(type).getIndexInfo()
+                        .map(IndexInfo::getName)
+                        .collectList()
+                        .doOnNext(names -> log.info("Indexes on {}: {}",
+                                mongoTemplate.getCollectionName(type), names))
+                        .then());
+    }
+
+    // logs the winning plan of each hot query, so a COLLSCAN shows up right after startup
+    private Mono<Void> explainHotQueries() {
+
+        Mono<Void> byPnr = explain(Booking.class,
+                Filters.eq("pnr", "EXPLAIN"), null);
+
+        Mono<Void> history = explain(Booking.class,
+                Filters.eq("userEmail", "explain@example.com"),
+                Sorts.orderBy(Sorts.descending("bookedAt"), Sorts.descending("_id")));
+
+        Mono<Void> route = explain(Flight.class,
+                Filters.and(
+                        Filters.eq("routeKey", "EXPLAIN|EXPLAIN"),
+                        Filters.eq("departureDate", new Date(0))),
+                null);
+
+        return Flux.concat(byPnr, history, route)
+                .onErrorResume(e -> {
+                    log.debug("Could not explain hot queries: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Void> explain(Class<?> type, Bson filter, Bson sort) {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(type))
+                .flatMap(collection -> Mono.from(collection.find(filter).sort(sort).explain()))
+                .doOnNext(plan -> log.debug("Explain {} {} -> {}",
+                        mongoTemplate.getCollectionName(type), filter, winningPlan(plan)))
+                .then();
+    }
+
+    private Object winningPlan(Document explain) {
+        Document planner = explain.get("queryPlanner", Document.class);
+        return planner == null ? explain : planner.get("winningPlan");
+    }
+
+    private record IndexSpec(Class<?> type, Index index) {
+    }
+
+    private record DroppedIndex(Class<?> type, String name) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.flightapp.config;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.ReadPreference;
+
+// read preference per read-only endpoint; anything not listed here (bookings, cancellations,
+// meal updates, ticket lookups) stays on the primary
+@Component
+public class ReadRoutes {
+
+    public enum Route {
+        SEARCH, SEARCH_IDS, HISTORY
+    }
+
+    private final Map<Route, ReadPreference> preferences = new EnumMap<>(Route.class);
+
+    public ReadRoutes(@Value("${flightapp.mongo.read-routing.search:secondaryPreferred}") String search,
+                      @Value("${flightapp.mongo.read-routing.search-ids:secondaryPreferred}") String searchIds,
+                      @Value("${flightapp.mongo.read-routing.history:secondaryPreferred}") String history,
+                      @Value("${flightapp.mongo.read-routing.max-staleness:PT90S}") Duration maxStaleness) {
+        preferences.put(Route.SEARCH, preference(search, maxStaleness));
+        preferences.put(Route.SEARCH_IDS, preference(searchIds, maxStaleness));
+        preferences.put(Route.HISTORY, preference(history, maxStaleness));
+    }
+
+    public ReadPreference preference(Route route) {
+        return preferences.get(route);
+    }
+
+    // the server rejects a max staleness below 90s, and primary takes none at all
+    static ReadPreference preference(String mode, Duration maxStaleness) {
+        ReadPreference base = ReadPreference.valueOf(mode);
+        if (base.equals(ReadPreference.primary())) {
+            return base;
+        }
+        return ReadPreference.valueOf(base.getName(), List.of(),
+                Math.max(maxStaleness.toSeconds(), 90), TimeUnit.SECONDS);
+    }
+}
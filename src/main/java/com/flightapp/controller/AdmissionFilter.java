@@ -0,0 +1,158 @@
+package com.flightapp.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.flightapp.service.ServiceMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import reactor.core.publisher.Mono;
+
+// admission control in front of the controller: per-user limits on search and booking, a
+// per-flight booking limit, and a cap on bookings in flight per flight. Rejections are a 429
+// with Retry-After, decided before any work reaches the event loop's handlers or the Mongo pool
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionFilter implements WebFilter {
+
+    private static final PathPattern SEARCH = PathPatternParser.defaultInstance
+            .parse("/api/v1.0/flight/search/**");
+    private static final PathPattern BOOK = PathPatternParser.defaultInstance
+            .parse("/api/v1.0/flight/booking/{flightId}");
+    private static final PathPattern HOLD = PathPatternParser.defaultInstance
+            .parse("/api/v1.0/flight/booking/{flightId}/hold");
+
+    private final boolean enabled;
+    private final RateLimiter searchPerUser;
+    private final RateLimiter bookingPerUser;
+    private final RateLimiter bookingPerFlight;
+    private final int maxInFlightPerFlight;
+    private final Cache<String, AtomicInteger> inFlight;
+    private final ServiceMetrics metrics;
+
+    public AdmissionFilter(@Value("${flightapp.admission.enabled:true}") boolean enabled,
+                           @Value("${flightapp.admission.search.rate:20}") double searchRate,
+                           @Value("${flightapp.admission.search.burst:40}") int searchBurst,
+                           @Value("${flightapp.admission.booking.rate:5}") double bookingRate,
+                           @Value("${flightapp.admission.booking.burst:10}") int bookingBurst,
+                           @Value("${flightapp.admission.flight.rate:200}") double flightRate,
+                           @Value("${flightapp.admission.flight.burst:400}") int flightBurst,
+                           @Value("${flightapp.admission.flight.max-in-flight:32}") int maxInFlightPerFlight,
+                           @Value("${flightapp.admission.idle-expiry:PT10M}") Duration idleExpiry,
+                           @Value("${flightapp.admission.max-keys:100000}") long maxKeys,
+                           ServiceMetrics metrics) {
+        this.enabled = enabled;
+        this.searchPerUser = new RateLimiter(searchRate, searchBurst, idleExpiry, maxKeys);
+        this.bookingPerUser = new RateLimiter(bookingRate, bookingBurst, idleExpiry, maxKeys);
+        this.bookingPerFlight = new RateLimiter(flightRate, flightBurst, idleExpiry, maxKeys);
+        this.maxInFlightPerFlight = maxInFlightPerFlight;
+        this.inFlight = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpiry)
+                .maximumSize(maxKeys)
+                .build();
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        HttpMethod method = exchange.getRequest().getMethod();
+
+        if (SEARCH.matches(path)) {
+            long wait = searchPerUser.tryAcquire(clientKey(exchange), System.nanoTime());
+            return wait == 0 ? chain.filter(exchange) : reject(exchange, "search", wait);
+        }
+
+        if (method != HttpMethod.POST) {
+            return chain.filter(exchange);
+        }
+
+        PathPattern.PathMatchInfo booking = BOOK.matchAndExtract(path);
+        if (booking == null) {
+            booking = HOLD.matchAndExtract(path);
+        }
+        if (booking == null) {
+            return chain.filter(exchange);
+        }
+
+        String flightId = booking.getUriVariables().get("flightId");
+        long now = System.nanoTime();
+
+        long wait = bookingPerUser.tryAcquire(clientKey(exchange), now);
+        if (wait > 0) {
+            return reject(exchange, "booking-user", wait);
+        }
+        wait = bookingPerFlight.tryAcquire(flightId, now);
+        if (wait > 0) {
+            return reject(exchange, "booking-flight", wait);
+        }
+
+        // a seat fight on one flight is decided by Mongo one write at a time; queueing more
+        // than a handful of bookings behind it only holds pool connections for everyone else
+        AtomicInteger running = inFlight.get(flightId, id -> new AtomicInteger());
+        if (running.incrementAndGet() > maxInFlightPerFlight) {
+            running.decrementAndGet();
+            return reject(exchange, "booking-in-flight", TimeUnit.SECONDS.toNanos(1));
+        }
+        return chain.filter(exchange).doFinally(signal -> running.decrementAndGet());
+    }
+
+    private static String clientKey(ServerWebExchange exchange) {
+        String email = exchange.getRequest().getHeaders().getFirst("X-User-Email");
+        if (email != null && !email.isBlank()) {
+            return email.trim().toLowerCase(Locale.ROOT);
+        }
+        var remote = exchange.getRequest().getRemoteAddress();
+        return remote == null || remote.getAddress() == null
+                ? "anonymous"
+                : remote.getAddress().getHostAddress();
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String limit, long waitNanos) {
+        metrics.admissionRejected(limit);
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        String body = "{\"timestamp\":\"" + LocalDateTime.now()
+                + "\",\"message\":\"Too many requests, retry after " + retryAfterSeconds + "s\"}";
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory()
+                .wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    Map<String, Long> trackedKeys() {
+        return Map.of(
+                "searchPerUser", searchPerUser.trackedKeys(),
+                "bookingPerUser", bookingPerUser.trackedKeys(),
+                "bookingPerFlight", bookingPerFlight.trackedKeys());
+    }
+}
@@ -1,20 +1,33 @@
 package com.flightapp.controller;
+import java.time.Duration;
+import java.util.Map;
+
 import com.flightapp.dto.UpdateBookingRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import com.flightapp.dto.BookingHistoryPage;
 import com.flightapp.dto.BookingRequest;
 import com.flightapp.dto.FlightSearchRequest;
 import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.InventoryLoadResult;
+import com.flightapp.dto.HoldResponse;
+import com.flightapp.dto.ItineraryResponse;
+import com.flightapp.dto.ItinerarySearchRequest;
 import com.flightapp.dto.InventoryRequest;
+import com.flightapp.dto.RoundTripResponse;
+import com.flightapp.dto.RoundTripSearchRequest;
+import com.flightapp.dto.SeatAvailability;
 import com.flightapp.dto.TicketResponse;
 import com.flightapp.exception.BusinessException;
-import com.flightapp.model.Flight;
 import com.flightapp.service.BookingService;
 import com.flightapp.service.FlightService;
+import com.flightapp.service.ItineraryService;
+import com.flightapp.service.SeatAvailabilityStream;
 
 import jakarta.validation.Valid;
 import reactor.core.publisher.Flux;
@@ -25,12 +38,21 @@ import reactor.core.publisher.Mono;
 @Validated
 public class FlightController {
 
+    private static final Duration SSE_KEEP_ALIVE = Duration.ofSeconds(15);
+
     private final FlightService flightService;
     private final BookingService bookingService;
+    private final ItineraryService itineraryService;
+    private final SeatAvailabilityStream seatAvailabilityStream;
 
-    public FlightController(FlightService flightService, BookingService bookingService) {
+    public FlightController(FlightService flightService,
+                            BookingService bookingService,
+                            ItineraryService itineraryService,
+                            SeatAvailabilityStream seatAvailabilityStream) {
         this.flightService = flightService;
         this.bookingService = bookingService;
+        this.itineraryService = itineraryService;
+        this.seatAvailabilityStream = seatAvailabilityStream;
     }
 
     // POST /api/v1.0/flight/airline/inventory
@@ -39,9 +61,20 @@ public class FlightController {
             consumes = MediaType.APPLICATION_JSON_VALUE,
             produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public Mono<ResponseEntity<Flight>> addInventory(@Valid @RequestBody InventoryRequest request) {
+    public Mono<ResponseEntity<FlightSearchResponse>> addInventory(@Valid @RequestBody InventoryRequest request) {
         return flightService.addInventory(request)
-                .map(savedFlight -> ResponseEntity.status(HttpStatus.CREATED).body(savedFlight));
+                .map(FlightService::mapToSearchResponse)
+                .map(flight -> ResponseEntity.status(HttpStatus.CREATED).body(flight));
+    }
+
+    // POST /api/v1.0/flight/airline/inventory/bulk
+    @PostMapping(
+            path = "/airline/inventory/bulk",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Flux<InventoryLoadResult> bulkAddInventory(@RequestBody Flux<String> lines) {
+        return flightService.bulkAddInventory(lines);
     }
 
     // POST /api/v1.0/flight/search
@@ -67,6 +100,55 @@ public class FlightController {
     
     
 
+    // POST /api/v1.0/flight/search/round-trip?limit=20
+    @PostMapping(
+            path = "/search/round-trip",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Flux<RoundTripResponse> searchRoundTrips(
+            @Valid @RequestBody RoundTripSearchRequest request,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return flightService.searchRoundTrips(request, limit);
+    }
+
+    // POST /api/v1.0/flight/search/itineraries
+    @PostMapping(
+            path = "/search/itineraries",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Flux<ItineraryResponse> searchItineraries(@Valid @RequestBody ItinerarySearchRequest request) {
+        return itineraryService.searchItineraries(request);
+    }
+
+    // GET /api/v1.0/flight/search/cache/stats
+    @GetMapping(
+            path = "/search/cache/stats",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<Map<String, Object>> searchCacheStats() {
+        return Mono.fromSupplier(flightService::searchCacheStats);
+    }
+
+    // GET /api/v1.0/flight/seats/{flightId}/stream
+    // pushes the seat count on connect and on every change; comments keep idle proxies open
+    @GetMapping(
+            path = "/seats/{flightId}/stream",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    public Flux<ServerSentEvent<SeatAvailability>> streamSeatAvailability(
+            @PathVariable("flightId") String flightId) {
+
+        Flux<ServerSentEvent<SeatAvailability>> updates = seatAvailabilityStream.watch(flightId)
+                .map(seats -> ServerSentEvent.builder(seats).event("seats").build());
+
+        Flux<ServerSentEvent<SeatAvailability>> keepAlive = Flux.interval(SSE_KEEP_ALIVE)
+                .map(tick -> ServerSentEvent.<SeatAvailability>builder().comment("keep-alive").build());
+
+        return Flux.merge(updates, keepAlive);
+    }
+
     // POST /api/v1.0/flight/booking/{flightId}
     @PostMapping(
             path = "/booking/{flightId}",
@@ -87,6 +169,48 @@ public class FlightController {
                 .map(ticket -> ResponseEntity.status(HttpStatus.CREATED).body(ticket));
     }
 
+    // POST /api/v1.0/flight/booking/{flightId}/hold
+    @PostMapping(
+            path = "/booking/{flightId}/hold",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<HoldResponse>> holdSeats(
+            @PathVariable("flightId") String flightId,
+            @RequestHeader("X-User-Email") String loggedInEmail,
+            @Valid @RequestBody BookingRequest request) {
+
+        if (!loggedInEmail.equalsIgnoreCase(request.getUserEmail())) {
+            return Mono.error(new BusinessException(
+                    "Logged-in user email does not match booking email"));
+        }
+
+        return bookingService.holdSeats(flightId, request)
+                .map(hold -> ResponseEntity.status(HttpStatus.CREATED).body(hold));
+    }
+
+    // POST /api/v1.0/flight/booking/hold/{holdId}/confirm
+    @PostMapping(
+            path = "/booking/hold/{holdId}/confirm",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<TicketResponse>> confirmHold(
+            @PathVariable("holdId") String holdId,
+            @RequestHeader("X-User-Email") String loggedInEmail) {
+
+        return bookingService.confirmHold(holdId, loggedInEmail)
+                .map(ticket -> ResponseEntity.status(HttpStatus.CREATED).body(ticket));
+    }
+
+    // GET /api/v1.0/flight/booking/transactions/stats
+    @GetMapping(
+            path = "/booking/transactions/stats",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<Map<String, Object>> bookingTransactionStats() {
+        return Mono.fromSupplier(bookingService::transactionStats);
+    }
+
     // GET /api/v1.0/flight/ticket/{pnr}
     @GetMapping(
             path = "/ticket/{pnr}",
@@ -114,6 +238,42 @@ public class FlightController {
         return bookingService.getBookingHistory(emailId);
     }
 
+    // GET /api/v1.0/flight/booking/history/{emailId}/page?limit=20&after={cursor}
+    @GetMapping(
+            path = "/booking/history/{emailId}/page",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<BookingHistoryPage> getBookingHistoryPage(
+            @PathVariable("emailId") String emailId,
+            @RequestHeader("X-User-Email") String loggedInEmail,
+            @RequestParam(name = "limit", defaultValue = "20") int limit,
+            @RequestParam(name = "after", required = false) String after) {
+
+        if (!loggedInEmail.equalsIgnoreCase(emailId)) {
+            return Mono.error(new BusinessException(
+                    "You can only view booking history for your own email"));
+        }
+
+        return bookingService.getBookingHistoryPage(emailId, limit, after);
+    }
+
+    // GET /api/v1.0/flight/booking/history/{emailId}/stream
+    @GetMapping(
+            path = "/booking/history/{emailId}/stream",
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public Flux<TicketResponse> streamBookingHistory(
+            @PathVariable("emailId") String emailId,
+            @RequestHeader("X-User-Email") String loggedInEmail) {
+
+        if (!loggedInEmail.equalsIgnoreCase(emailId)) {
+            return Flux.error(new BusinessException(
+                    "You can only view booking history for your own email"));
+        }
+
+        return bookingService.streamBookingHistory(emailId);
+    }
+
     // DELETE /api/v1.0/flight/booking/cancel/{pnr}
     @DeleteMapping(path = "/booking/cancel/{pnr}")
     public Mono<ResponseEntity<Void>> cancelBooking(
@@ -0,0 +1,48 @@
+package com.flightapp.controller;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// token bucket as GCRA: each key keeps only its "theoretical arrival time" in an AtomicLong,
+// updated with a CAS loop, so checks never lock; keys idle longer than the expiry are dropped
+final class RateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    RateLimiter(double perSecond, int burst, Duration idleExpiry, long maxKeys) {
+        if (perSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.intervalNanos = (long) (1_000_000_000L / perSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1L);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpiry)
+                .maximumSize(maxKeys)
+                .build();
+    }
+
+    // 0 when admitted, otherwise how long until the next request for this key would be
+    long tryAcquire(String key, long nowNanos) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(nowNanos));
+        while (true) {
+            long current = arrival.get();
+            long tat = Math.max(current, nowNanos);
+            long wait = tat - toleranceNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, tat + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+}
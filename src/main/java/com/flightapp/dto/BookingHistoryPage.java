@@ -0,0 +1,27 @@
+package com.flightapp.dto;
+
+import java.util.List;
+
+public class BookingHistoryPage {
+
+    private List<TicketResponse> bookings;
+
+    // opaque cursor for the next page, null when this is the last page
+    private String nextCursor;
+
+    public List<TicketResponse> getBookings() {
+        return bookings;
+    }
+
+    public void setBookings(List<TicketResponse> bookings) {
+        this.bookings = bookings;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
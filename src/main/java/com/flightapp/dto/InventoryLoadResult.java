@@ -0,0 +1,54 @@
+package com.flightapp.dto;
+
+public class InventoryLoadResult {
+
+    // 1-based line number in the uploaded NDJSON
+    private long line;
+
+    private String id;
+
+    private String error;
+
+    public static InventoryLoadResult created(long line, String id) {
+        InventoryLoadResult result = new InventoryLoadResult();
+        result.setLine(line);
+        result.setId(id);
+        return result;
+    }
+
+    public static InventoryLoadResult failed(long line, String error) {
+        InventoryLoadResult result = new InventoryLoadResult();
+        result.setLine(line);
+        result.setError(error);
+        return result;
+    }
+
+    public void fail(String error) {
+        this.id = null;
+        this.error = error;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
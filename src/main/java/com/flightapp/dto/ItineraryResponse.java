@@ -0,0 +1,67 @@
+package com.flightapp.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ItineraryResponse {
+
+    private List<FlightSearchResponse> legs;
+
+    private int stops;
+
+    private BigDecimal totalPrice;
+
+    private long totalDurationMinutes;
+
+    private LocalDateTime departureDateTime;
+    private LocalDateTime arrivalDateTime;
+
+    public List<FlightSearchResponse> getLegs() {
+        return legs;
+    }
+
+    public void setLegs(List<FlightSearchResponse> legs) {
+        this.legs = legs;
+    }
+
+    public int getStops() {
+        return stops;
+    }
+
+    public void setStops(int stops) {
+        this.stops = stops;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public long getTotalDurationMinutes() {
+        return totalDurationMinutes;
+    }
+
+    public void setTotalDurationMinutes(long totalDurationMinutes) {
+        this.totalDurationMinutes = totalDurationMinutes;
+    }
+
+    public LocalDateTime getDepartureDateTime() {
+        return departureDateTime;
+    }
+
+    public void setDepartureDateTime(LocalDateTime departureDateTime) {
+        this.departureDateTime = departureDateTime;
+    }
+
+    public LocalDateTime getArrivalDateTime() {
+        return arrivalDateTime;
+    }
+
+    public void setArrivalDateTime(LocalDateTime arrivalDateTime) {
+        this.arrivalDateTime = arrivalDateTime;
+    }
+}
@@ -0,0 +1,102 @@
+package com.flightapp.dto;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class ItinerarySearchRequest {
+
+    @NotBlank(message = "From place is required")
+    private String fromPlace;
+
+    @NotBlank(message = "To place is required")
+    private String toPlace;
+
+    @NotNull(message = "Travel date is required")
+    private LocalDate travelDate;
+
+    @Min(value = 0, message = "Max stops cannot be negative")
+    @Max(value = 2, message = "At most two stops are supported")
+    private int maxStops = 1;
+
+    @Min(value = 0, message = "Minimum layover cannot be negative")
+    private int minLayoverMinutes = 45;
+
+    @Min(value = 1, message = "Maximum layover must be positive")
+    @Max(value = 1440, message = "Maximum layover cannot exceed 24 hours")
+    private int maxLayoverMinutes = 360;
+
+    @NotBlank(message = "Sort by is required")
+    private String sortBy = "PRICE"; // "PRICE" or "DURATION"
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 100, message = "Limit cannot exceed 100")
+    private int limit = 20;
+
+    public String getFromPlace() {
+        return fromPlace;
+    }
+
+    public void setFromPlace(String fromPlace) {
+        this.fromPlace = fromPlace;
+    }
+
+    public String getToPlace() {
+        return toPlace;
+    }
+
+    public void setToPlace(String toPlace) {
+        this.toPlace = toPlace;
+    }
+
+    public LocalDate getTravelDate() {
+        return travelDate;
+    }
+
+    public void setTravelDate(LocalDate travelDate) {
+        this.travelDate = travelDate;
+    }
+
+    public int getMaxStops() {
+        return maxStops;
+    }
+
+    public void setMaxStops(int maxStops) {
+        this.maxStops = maxStops;
+    }
+
+    public int getMinLayoverMinutes() {
+        return minLayoverMinutes;
+    }
+
+    public void setMinLayoverMinutes(int minLayoverMinutes) {
+        this.minLayoverMinutes = minLayoverMinutes;
+    }
+
+    public int getMaxLayoverMinutes() {
+        return maxLayoverMinutes;
+    }
+
+    public void setMaxLayoverMinutes(int maxLayoverMinutes) {
+        this.maxLayoverMinutes = maxLayoverMinutes;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public void setSortBy(String sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,35 @@
+package com.flightapp.dto;
+
+import java.math.BigDecimal;
+
+public class RoundTripResponse {
+
+    private FlightSearchResponse outbound;
+    private FlightSearchResponse inbound;
+
+    private BigDecimal totalPrice;
+
+    public FlightSearchResponse getOutbound() {
+        return outbound;
+    }
+
+    public void setOutbound(FlightSearchResponse outbound) {
+        this.outbound = outbound;
+    }
+
+    public FlightSearchResponse getInbound() {
+        return inbound;
+    }
+
+    public void setInbound(FlightSearchResponse inbound) {
+        this.inbound = inbound;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+}
@@ -0,0 +1,53 @@
+package com.flightapp.dto;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public class RoundTripSearchRequest {
+
+    @NotBlank(message = "From place is required")
+    private String fromPlace;
+
+    @NotBlank(message = "To place is required")
+    private String toPlace;
+
+    @NotNull(message = "Travel date is required")
+    private LocalDate travelDate;
+
+    @NotNull(message = "Return date is required")
+    private LocalDate returnDate;
+
+    public String getFromPlace() {
+        return fromPlace;
+    }
+
+    public void setFromPlace(String fromPlace) {
+        this.fromPlace = fromPlace;
+    }
+
+    public String getToPlace() {
+        return toPlace;
+    }
+
+    public void setToPlace(String toPlace) {
+        this.toPlace = toPlace;
+    }
+
+    public LocalDate getTravelDate() {
+        return travelDate;
+    }
+
+    public void setTravelDate(LocalDate travelDate) {
+        this.travelDate = travelDate;
+    }
+
+    public LocalDate getReturnDate() {
+        return returnDate;
+    }
+
+    public void setReturnDate(LocalDate returnDate) {
+        this.returnDate = returnDate;
+    }
+}
@@ -0,0 +1,44 @@
+package com.flightapp.dto;
+
+import java.time.LocalDateTime;
+
+public class SeatAvailability {
+
+    private String flightId;
+
+    private int availableSeats;
+
+    private LocalDateTime observedAt;
+
+    public static SeatAvailability of(String flightId, int availableSeats) {
+        SeatAvailability availability = new SeatAvailability();
+        availability.setFlightId(flightId);
+        availability.setAvailableSeats(availableSeats);
+        availability.setObservedAt(LocalDateTime.now());
+        return availability;
+    }
+
+    public String getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(String flightId) {
+        this.flightId = flightId;
+    }
+
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public void setAvailableSeats(int availableSeats) {
+        this.availableSeats = availableSeats;
+    }
+
+    public LocalDateTime getObservedAt() {
+        return observedAt;
+    }
+
+    public void setObservedAt(LocalDateTime observedAt) {
+        this.observedAt = observedAt;
+    }
+}
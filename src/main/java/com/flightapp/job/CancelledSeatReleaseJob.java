@@ -0,0 +1,53 @@
+package com.flightapp.job;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.service.BookingService;
+
+import reactor.core.publisher.Mono;
+
+// finishes cancellations whose booking was saved as CANCELLED but whose seats never made it
+// back to the flight (the instance died, or Mongo failed between the two steps)
+@Component
+public class CancelledSeatReleaseJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CancelledSeatReleaseJob.class);
+
+    private final BookingService bookingService;
+    private final Duration grace;
+    private final int batchSize;
+
+    public CancelledSeatReleaseJob(BookingService bookingService,
+                                   @Value("${flightapp.booking.cancel-release.grace:PT1M}") Duration grace,
+                                   @Value("${flightapp.booking.cancel-release.batch-size:200}") int batchSize) {
+        this.bookingService = bookingService;
+        this.grace = grace;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(
+            initialDelayString = "${flightapp.booking.cancel-release.interval:PT1M}",
+            fixedDelayString = "${flightapp.booking.cancel-release.interval:PT1M}"
+    )
+    public Mono<Void> releaseStranded() {
+        // the grace period keeps this away from cancellations that are still finishing
+        return bookingService.releaseStrandedCancellations(LocalDateTime.now().minus(grace), batchSize)
+                .doOnNext(released -> {
+                    if (released > 0) {
+                        log.info("Released seats of {} cancelled bookings", released);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Cancelled seat release failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
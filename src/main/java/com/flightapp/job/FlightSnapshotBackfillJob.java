@@ -0,0 +1,94 @@
+package com.flightapp.job;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.config.Migration;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightFields;
+import com.mongodb.bulk.BulkWriteResult;
+
+import reactor.core.publisher.Mono;
+
+// one-off fill of the flight snapshot on bookings stored before snapshots existed, one
+// multi-update per flight; it is idempotent and does nothing once every booking has one.
+// bookings whose flight is gone keep no snapshot and are still read with a flight lookup
+@Component
+@Order(11)
+public class FlightSnapshotBackfillJob implements Migration {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightSnapshotBackfillJob.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration timeout;
+
+    public FlightSnapshotBackfillJob(ReactiveMongoTemplate mongoTemplate,
+                                     @Value("${flightapp.backfill.flight-snapshots.enabled:true}") boolean enabled,
+                                     @Value("${flightapp.backfill.flight-snapshots.batch-size:200}") int batchSize,
+                                     @Value("${flightapp.backfill.flight-snapshots.timeout:PT10M}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String id() {
+        return "flight-snapshots-v1";
+    }
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public Duration timeout() {
+        return timeout;
+    }
+
+    @Override
+    public Mono<Void> apply() {
+
+        Query missing = Query.query(Criteria.where("flight").exists(false));
+
+        return mongoTemplate.findDistinct(missing, "flightId", Booking.class, String.class)
+                .buffer(batchSize)
+                .concatMap(flightIds -> {
+                    Query flights = Query.query(Criteria.where("id").in(flightIds));
+                    flights.fields().include(FlightFields.TICKET);
+
+                    return mongoTemplate.find(flights, Flight.class)
+                            .collectList()
+                            .filter(found -> !found.isEmpty())
+                            .flatMap(found -> {
+                                var bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Booking.class);
+                                found.forEach(flight -> bulk.updateMulti(
+                                        Query.query(Criteria.where("flightId").is(flight.getId())
+                                                .and("flight").exists(false)),
+                                        FlightSnapshotPropagationJob.snapshotUpdate(flight)));
+                                return bulk.execute();
+                            });
+                })
+                .map(BulkWriteResult::getModifiedCount)
+                .reduce(0, Integer::sum)
+                .doOnNext(updated -> {
+                    if (updated > 0) {
+                        log.info("Backfilled flight snapshots on {} bookings", updated);
+                    }
+                })
+                .then();
+    }
+}
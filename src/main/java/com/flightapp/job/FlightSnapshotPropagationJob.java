@@ -0,0 +1,95 @@
+package com.flightapp.job;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.model.FlightSnapshot;
+import com.flightapp.repository.FlightFields;
+import com.mongodb.bulk.BulkWriteResult;
+
+import reactor.core.publisher.Mono;
+
+// rewrites the flight snapshot on bookings after a schedule change: flights changed since the
+// last run are picked up by scheduleChangedAt and every booking of theirs holding an older
+// scheduleVersion is updated with one multi-update per flight. The version check keeps reruns
+// and overlapping windows harmless
+@Component
+public class FlightSnapshotPropagationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightSnapshotPropagationJob.class);
+
+    // writers' clocks may trail ours a little; re-reading a short overlap costs nothing
+    private static final Duration OVERLAP = Duration.ofMinutes(1);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final AtomicReference<LocalDateTime> changedSince;
+
+    public FlightSnapshotPropagationJob(ReactiveMongoTemplate mongoTemplate,
+                                        @Value("${flightapp.flight-snapshots.propagation.batch-size:200}") int batchSize,
+                                        @Value("${flightapp.flight-snapshots.propagation.lookback:P1D}") Duration lookback) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+        this.changedSince = new AtomicReference<>(LocalDateTime.now().minus(lookback));
+    }
+
+    @Scheduled(
+            initialDelayString = "${flightapp.flight-snapshots.propagation.interval:PT1M}",
+            fixedDelayString = "${flightapp.flight-snapshots.propagation.interval:PT1M}"
+    )
+    public Mono<Void> propagate() {
+
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        Query changed = Query.query(Criteria.where("scheduleChangedAt").gte(changedSince.get().minus(OVERLAP)));
+        changed.fields().include(FlightFields.TICKET);
+
+        return mongoTemplate.find(changed, Flight.class)
+                .buffer(batchSize)
+                .concatMap(flights -> {
+                    var bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Booking.class);
+                    flights.forEach(flight -> bulk.updateMulti(
+                            Query.query(Criteria.where("flightId").is(flight.getId())
+                                    .and("flight.scheduleVersion").lt(flight.getScheduleVersion())),
+                            snapshotUpdate(flight)));
+                    return bulk.execute();
+                })
+                .map(BulkWriteResult::getModifiedCount)
+                .reduce(0, Integer::sum)
+                .doOnNext(updated -> {
+                    changedSince.set(startedAt);
+                    if (updated > 0) {
+                        log.info("Updated flight snapshots on {} bookings", updated);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Flight snapshot propagation failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // the journey fields follow the schedule too, the 24 hour cancel and update rule reads them
+    static Update snapshotUpdate(Flight flight) {
+        return new Update()
+                .set("flight", FlightSnapshot.of(flight))
+                .set("journeyDate", flight.getDepartureDate())
+                .set("journeyDepartureDateTime",
+                        LocalDateTime.of(flight.getDepartureDate(), flight.getDepartureTime()))
+                .inc("version", 1);
+    }
+}
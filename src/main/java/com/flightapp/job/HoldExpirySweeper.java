@@ -0,0 +1,131 @@
+package com.flightapp.job;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.model.BookingHold;
+import com.flightapp.model.Flight;
+import com.flightapp.model.SeatHold;
+import com.flightapp.repository.BookingHoldRepository;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.SeatHoldRepository;
+import com.flightapp.service.BookingTransactions;
+import com.flightapp.service.FlightChangedEvent;
+import com.flightapp.service.ServiceMetrics;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// hands the seats of expired holds back in batches: one claim and one delete each for the seat
+// claims and the holds per batch. Without transactions these steps are not atomic, so each hold's
+// seats go back right after that hold alone is stamped as released, the way a cancellation claims
+// its release: a sweeper that dies mid-batch leaves at most the holds it was working on at that
+// moment stamped without their seats, and a hold re-claimed afterwards is cleaned up without its
+// seats being given back a second time
+@Component
+public class HoldExpirySweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldExpirySweeper.class);
+
+    private static final int RELEASE_CONCURRENCY = 16;
+
+    private final BookingHoldRepository bookingHoldRepository;
+    private final FlightRepository flightRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final BookingTransactions bookingTransactions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ServiceMetrics metrics;
+    private final int batchSize;
+    private final Duration staleClaimAfter;
+
+    public HoldExpirySweeper(BookingHoldRepository bookingHoldRepository,
+                             FlightRepository flightRepository,
+                             SeatHoldRepository seatHoldRepository,
+                             BookingTransactions bookingTransactions,
+                             ApplicationEventPublisher eventPublisher,
+                             ServiceMetrics metrics,
+                             @Value("${flightapp.booking.holds.sweep-batch-size:500}") int batchSize,
+                             @Value("${flightapp.booking.holds.stale-claim-after:PT5M}") Duration staleClaimAfter) {
+        this.bookingHoldRepository = bookingHoldRepository;
+        this.flightRepository = flightRepository;
+        this.seatHoldRepository = seatHoldRepository;
+        this.bookingTransactions = bookingTransactions;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.batchSize = batchSize;
+        this.staleClaimAfter = staleClaimAfter;
+    }
+
+    @Scheduled(
+            initialDelayString = "${flightapp.booking.holds.sweep-interval:PT30S}",
+            fixedDelayString = "${flightapp.booking.holds.sweep-interval:PT30S}"
+    )
+    public Mono<Void> sweep() {
+        return sweepBatch()
+                .expand(released -> released == batchSize ? sweepBatch() : Mono.empty())
+                .reduce(0, Integer::sum)
+                .doOnNext(released -> {
+                    if (released > 0) {
+                        log.info("Released {} expired seat holds", released);
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Seat hold sweep failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Integer> sweepBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        String token = UUID.randomUUID().toString();
+
+        return bookingHoldRepository.claimExpired(token, now, now.minus(staleClaimAfter), batchSize)
+                .collectList()
+                .flatMap(holds -> holds.isEmpty() ? Mono.just(0) : release(token, holds));
+    }
+
+    private Mono<Integer> release(String token, List<BookingHold> holds) {
+
+        List<String> seatHoldIds = holds.stream()
+                .flatMap(hold -> hold.getSeatNumbers().stream()
+                        .map(seat -> SeatHold.idFor(hold.getFlightId(), seat)))
+                .toList();
+
+        List<String> pnrs = holds.stream().map(BookingHold::getPnr).toList();
+        List<String> holdIds = holds.stream().map(BookingHold::getId).toList();
+
+        return bookingTransactions.execute(() -> Flux.fromIterable(holdIds)
+                        .flatMap(holdId -> releaseSeats(token, holdId), RELEASE_CONCURRENCY)
+                        .collectList()
+                        .flatMap(released -> seatHoldRepository.deleteByIdInAndPnrIn(seatHoldIds, pnrs)
+                                .then(bookingHoldRepository.deleteClaimed(token, holdIds))
+                                .thenReturn(released)))
+                .flatMap(released -> {
+                    metrics.expired(released.size());
+                    Set<String> flightIds = released.stream().map(Flight::getId).collect(Collectors.toSet());
+                    return flightRepository.findAllById(flightIds)
+                            .doOnNext(flight -> eventPublisher.publishEvent(new FlightChangedEvent(flight)))
+                            .then();
+                })
+                .then(Mono.just(holds.size()));
+    }
+
+    // the stamp picks the one sweep that may give this hold's seats back; empty when another
+    // sweep already did
+    private Mono<Flight> releaseSeats(String token, String holdId) {
+        return bookingHoldRepository.claimSeatRelease(token, holdId)
+                .flatMap(hold -> flightRepository.releaseSeats(hold.getFlightId(), hold.getNumberOfSeats()));
+    }
+}
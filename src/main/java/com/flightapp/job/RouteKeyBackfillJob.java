@@ -0,0 +1,91 @@
+package com.flightapp.job;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.config.Migration;
+import com.flightapp.model.Flight;
+import com.flightapp.model.RouteKeys;
+import com.mongodb.bulk.BulkWriteResult;
+
+import reactor.core.publisher.Mono;
+
+// one-off fill of fromKey/toKey/routeKey on flights stored before route keys existed;
+// it is idempotent and does nothing once every flight has a routeKey
+@Component
+@Order(10)
+public class RouteKeyBackfillJob implements Migration {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteKeyBackfillJob.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration timeout;
+
+    public RouteKeyBackfillJob(ReactiveMongoTemplate mongoTemplate,
+                               @Value("${flightapp.backfill.route-keys.enabled:true}") boolean enabled,
+                               @Value("${flightapp.backfill.route-keys.batch-size:500}") int batchSize,
+                               @Value("${flightapp.backfill.route-keys.timeout:PT10M}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String id() {
+        return "route-keys-v1";
+    }
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public Duration timeout() {
+        return timeout;
+    }
+
+    @Override
+    public Mono<Void> apply() {
+
+        Query missing = Query.query(Criteria.where("routeKey").exists(false));
+        missing.fields().include("fromPlace", "toPlace");
+
+        return mongoTemplate.find(missing, Flight.class)
+                .buffer(batchSize)
+                .concatMap(batch -> {
+                    var bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, Flight.class);
+                    batch.forEach(flight -> {
+                        RouteKeys.apply(flight);
+                        bulk.updateOne(
+                                Query.query(Criteria.where("id").is(flight.getId())),
+                                new Update()
+                                        .set("fromKey", flight.getFromKey())
+                                        .set("toKey", flight.getToKey())
+                                        .set("routeKey", flight.getRouteKey()));
+                    });
+                    return bulk.execute();
+                })
+                .map(BulkWriteResult::getModifiedCount)
+                .reduce(0, Integer::sum)
+                .doOnNext(updated -> {
+                    if (updated > 0) {
+                        log.info("Backfilled route keys on {} flights", updated);
+                    }
+                })
+                .then();
+    }
+}
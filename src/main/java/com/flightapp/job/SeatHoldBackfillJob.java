@@ -0,0 +1,96 @@
+package com.flightapp.job;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.config.Migration;
+import com.flightapp.model.Booking;
+import com.flightapp.model.SeatHold;
+import com.flightapp.model.enums.BookingStatus;
+
+import reactor.core.publisher.Mono;
+
+// one-off: bookings made before seat_holds existed hold no seat documents, so a new booking
+// could take their seats. Upcoming active bookings get theirs with setOnInsert upserts, which
+// makes it idempotent; if two old bookings share a seat, the first one written keeps it
+@Component
+@Order(13)
+public class SeatHoldBackfillJob implements Migration {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldBackfillJob.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration timeout;
+
+    public SeatHoldBackfillJob(ReactiveMongoTemplate mongoTemplate,
+                               @Value("${flightapp.backfill.seat-holds.enabled:true}") boolean enabled,
+                               @Value("${flightapp.backfill.seat-holds.batch-size:500}") int batchSize,
+                               @Value("${flightapp.backfill.seat-holds.timeout:PT10M}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String id() {
+        return "seat-holds-v1";
+    }
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public Duration timeout() {
+        return timeout;
+    }
+
+    @Override
+    public Mono<Void> apply() {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // departed flights cannot be booked any more, so their seats need no guarding
+        Query active = Query.query(Criteria.where("status").in(BookingStatus.BOOKED, BookingStatus.HELD)
+                .and("journeyDepartureDateTime").gt(now)
+                .and("seatNumbers").exists(true));
+        active.fields().include("pnr", "flightId", "seatNumbers");
+
+        return mongoTemplate.find(active, Booking.class)
+                .buffer(batchSize)
+                .concatMap(batch -> {
+                    var bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, SeatHold.class);
+                    batch.forEach(booking -> booking.getSeatNumbers().forEach(seat -> bulk.upsert(
+                            Query.query(Criteria.where("id").is(SeatHold.idFor(booking.getFlightId(), seat))),
+                            new Update()
+                                    .setOnInsert("flightId", booking.getFlightId())
+                                    .setOnInsert("seatNumber", SeatHold.normalizeSeat(seat))
+                                    .setOnInsert("pnr", booking.getPnr())
+                                    .setOnInsert("heldAt", now))));
+                    return bulk.execute();
+                })
+                .map(result -> result.getUpserts().size())
+                .reduce(0, Integer::sum)
+                .doOnNext(inserted -> {
+                    if (inserted > 0) {
+                        log.info("Backfilled {} seat holds from existing bookings", inserted);
+                    }
+                })
+                .then();
+    }
+}
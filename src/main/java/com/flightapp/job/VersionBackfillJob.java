@@ -0,0 +1,77 @@
+package com.flightapp.job;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.config.Migration;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.mongodb.client.result.UpdateResult;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// one-off: documents stored before @Version existed have no version, and Spring Data treats a
+// versioned entity without one as new, so saving it would try an insert. Starting them at 0
+// makes later saves versioned updates; idempotent, a no-op once every document has a version
+@Component
+@Order(12)
+public class VersionBackfillJob implements Migration {
+
+    private static final Logger log = LoggerFactory.getLogger(VersionBackfillJob.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Duration timeout;
+
+    public VersionBackfillJob(ReactiveMongoTemplate mongoTemplate,
+                              @Value("${flightapp.backfill.versions.enabled:true}") boolean enabled,
+                              @Value("${flightapp.backfill.versions.timeout:PT10M}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String id() {
+        return "versions-v1";
+    }
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public Duration timeout() {
+        return timeout;
+    }
+
+    @Override
+    public Mono<Void> apply() {
+
+        Query missing = Query.query(Criteria.where("version").exists(false));
+        Update start = new Update().set("version", 0L);
+
+        return Flux.concat(
+                        mongoTemplate.updateMulti(missing, start, Booking.class),
+                        mongoTemplate.updateMulti(missing, start, Flight.class))
+                .map(UpdateResult::getModifiedCount)
+                .reduce(0L, Long::sum)
+                .doOnNext(updated -> {
+                    if (updated > 0) {
+                        log.info("Set an initial version on {} bookings and flights", updated);
+                    }
+                })
+                .then();
+    }
+}
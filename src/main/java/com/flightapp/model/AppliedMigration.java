@@ -0,0 +1,39 @@
+package com.flightapp.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// one document per startup migration that has run to the end; its id is the migration's id
+@Document(collection = "migrations")
+public class AppliedMigration {
+
+    @Id
+    private String id;
+
+    private LocalDateTime appliedAt;
+
+    public static AppliedMigration of(String id, LocalDateTime appliedAt) {
+        AppliedMigration migration = new AppliedMigration();
+        migration.setId(id);
+        migration.setAppliedAt(appliedAt);
+        return migration;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getAppliedAt() {
+        return appliedAt;
+    }
+
+    public void setAppliedAt(LocalDateTime appliedAt) {
+        this.appliedAt = appliedAt;
+    }
+}
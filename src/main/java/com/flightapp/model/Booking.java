@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import com.flightapp.model.enums.BookingStatus;
@@ -16,10 +17,17 @@ public class Booking {
     @Id
     private String id;
 
+    // saves fail with OptimisticLockingFailureException when someone else saved first
+    @Version
+    private Long version;
+
     private String pnr;
 
     private String flightId;
 
+    // what the ticket shows about the flight; null on bookings stored before snapshots existed
+    private FlightSnapshot flight;
+
     private String userName;
     private String userEmail;
 
@@ -40,6 +48,10 @@ public class Booking {
 
     private LocalDateTime cancelledAt;
 
+    // false from the cancelling save until the seats are back on the flight; null on bookings
+    // that were never cancelled or were cancelled before the marker existed
+    private Boolean seatsReleased;
+
     public String getId() {
         return id;
     }
@@ -48,6 +60,14 @@ public class Booking {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getPnr() {
         return pnr;
     }
@@ -64,6 +84,14 @@ public class Booking {
         this.flightId = flightId;
     }
 
+    public FlightSnapshot getFlight() {
+        return flight;
+    }
+
+    public void setFlight(FlightSnapshot flight) {
+        this.flight = flight;
+    }
+
     public String getUserName() {
         return userName;
     }
@@ -151,4 +179,12 @@ public class Booking {
     public void setCancelledAt(LocalDateTime cancelledAt) {
         this.cancelledAt = cancelledAt;
     }
+
+    public Boolean getSeatsReleased() {
+        return seatsReleased;
+    }
+
+    public void setSeatsReleased(Boolean seatsReleased) {
+        this.seatsReleased = seatsReleased;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.flightapp.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.flightapp.model.enums.BookingStatus;
+import com.flightapp.model.enums.MealType;
+
+// seats reserved for a checkout that has not been paid for yet; turned into a Booking by
+// confirm, or handed back to the flight by HoldExpirySweeper once expiresAt has passed
+@Document(collection = "booking_holds")
+public class BookingHold {
+
+    @Id
+    private String id;
+
+    private String pnr;
+
+    private String flightId;
+
+    private String userName;
+    private String userEmail;
+
+    private int numberOfSeats;
+
+    private List<Passenger> passengers;
+
+    private List<String> seatNumbers;
+
+    private MealType mealType;
+
+    private BookingStatus status;
+
+    private LocalDateTime heldAt;
+    private LocalDateTime expiresAt;
+
+    // set by the sweeper run that is releasing this hold
+    private String sweptBy;
+    private LocalDateTime sweptAt;
+
+    // set once, by the sweep that gave the seats back; a later sweep only cleans up
+    private String seatsReleasedBy;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getPnr() {
+        return pnr;
+    }
+
+    public void setPnr(String pnr) {
+        this.pnr = pnr;
+    }
+
+    public String getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(String flightId) {
+        this.flightId = flightId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public void setUserEmail(String userEmail) {
+        this.userEmail = userEmail;
+    }
+
+    public int getNumberOfSeats() {
+        return numberOfSeats;
+    }
+
+    public void setNumberOfSeats(int numberOfSeats) {
+        this.numberOfSeats = numberOfSeats;
+    }
+
+    public List<Passenger> getPassengers() {
+        return passengers;
+    }
+
+    public void setPassengers(List<Passenger> passengers) {
+        this.passengers = passengers;
+    }
+
+    public List<String> getSeatNumbers() {
+        return seatNumbers;
+    }
+
+    public void setSeatNumbers(List<String> seatNumbers) {
+        this.seatNumbers = seatNumbers;
+    }
+
+    public MealType getMealType() {
+        return mealType;
+    }
+
+    public void setMealType(MealType mealType) {
+        this.mealType = mealType;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getHeldAt() {
+        return heldAt;
+    }
+
+    public void setHeldAt(LocalDateTime heldAt) {
+        this.heldAt = heldAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public String getSweptBy() {
+        return sweptBy;
+    }
+
+    public void setSweptBy(String sweptBy) {
+        this.sweptBy = sweptBy;
+    }
+
+    public LocalDateTime getSweptAt() {
+        return sweptAt;
+    }
+
+    public void setSweptAt(LocalDateTime sweptAt) {
+        this.sweptAt = sweptAt;
+    }
+
+    public String getSeatsReleasedBy() {
+        return seatsReleasedBy;
+    }
+
+    public void setSeatsReleasedBy(String seatsReleasedBy) {
+        this.seatsReleasedBy = seatsReleasedBy;
+    }
+}
@@ -1,9 +1,11 @@
 package com.flightapp.model;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "flights")
@@ -12,12 +14,21 @@ public class Flight {
     @Id
     private String id;
 
+    // optimistic locking for full-document saves; the in-place seat updates bump it too
+    @Version
+    private Long version;
+
     private String airlineName;
     private String airlineLogoUrl;
 
     private String fromPlace;
     private String toPlace;
 
+    // uppercase, whitespace-collapsed copies of the places, see RouteKeys
+    private String fromKey;
+    private String toKey;
+    private String routeKey;
+
     private LocalDate departureDate;
     private LocalTime departureTime;
     private LocalTime arrivalTime;
@@ -30,6 +41,11 @@ public class Flight {
     private int totalSeats;
     private int availableSeats;
 
+    // bumped, with scheduleChangedAt set, by any change to what a ticket shows (airline, places,
+    // date, times); bookings carrying an older snapshot are brought up to date in the background
+    private long scheduleVersion;
+    private LocalDateTime scheduleChangedAt;
+
     public String getId() {
         return id;
     }
@@ -38,6 +54,14 @@ public class Flight {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getAirlineName() {
         return airlineName;
     }
@@ -70,6 +94,30 @@ public class Flight {
         this.toPlace = toPlace;
     }
 
+    public String getFromKey() {
+        return fromKey;
+    }
+
+    public void setFromKey(String fromKey) {
+        this.fromKey = fromKey;
+    }
+
+    public String getToKey() {
+        return toKey;
+    }
+
+    public void setToKey(String toKey) {
+        this.toKey = toKey;
+    }
+
+    public String getRouteKey() {
+        return routeKey;
+    }
+
+    public void setRouteKey(String routeKey) {
+        this.routeKey = routeKey;
+    }
+
     public LocalDate getDepartureDate() {
         return departureDate;
     }
@@ -133,4 +181,20 @@ public class Flight {
     public void setAvailableSeats(int availableSeats) {
         this.availableSeats = availableSeats;
     }
+
+    public long getScheduleVersion() {
+        return scheduleVersion;
+    }
+
+    public void setScheduleVersion(long scheduleVersion) {
+        this.scheduleVersion = scheduleVersion;
+    }
+
+    public LocalDateTime getScheduleChangedAt() {
+        return scheduleChangedAt;
+    }
+
+    public void setScheduleChangedAt(LocalDateTime scheduleChangedAt) {
+        this.scheduleChangedAt = scheduleChangedAt;
+    }
 }
@@ -0,0 +1,98 @@
+package com.flightapp.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// the flight details a ticket shows, copied onto the booking when it is made so ticket reads
+// need no flight lookup; scheduleVersion is the flight's at copy time, see FlightSnapshotPropagationJob
+public class FlightSnapshot {
+
+    private String airlineName;
+    private String airlineLogoUrl;
+
+    private String fromPlace;
+    private String toPlace;
+
+    private LocalDate departureDate;
+    private LocalTime departureTime;
+    private LocalTime arrivalTime;
+
+    private long scheduleVersion;
+
+    public static FlightSnapshot of(Flight flight) {
+        FlightSnapshot snapshot = new FlightSnapshot();
+        snapshot.setAirlineName(flight.getAirlineName());
+        snapshot.setAirlineLogoUrl(flight.getAirlineLogoUrl());
+        snapshot.setFromPlace(flight.getFromPlace());
+        snapshot.setToPlace(flight.getToPlace());
+        snapshot.setDepartureDate(flight.getDepartureDate());
+        snapshot.setDepartureTime(flight.getDepartureTime());
+        snapshot.setArrivalTime(flight.getArrivalTime());
+        snapshot.setScheduleVersion(flight.getScheduleVersion());
+        return snapshot;
+    }
+
+    public String getAirlineName() {
+        return airlineName;
+    }
+
+    public void setAirlineName(String airlineName) {
+        this.airlineName = airlineName;
+    }
+
+    public String getAirlineLogoUrl() {
+        return airlineLogoUrl;
+    }
+
+    public void setAirlineLogoUrl(String airlineLogoUrl) {
+        this.airlineLogoUrl = airlineLogoUrl;
+    }
+
+    public String getFromPlace() {
+        return fromPlace;
+    }
+
+    public void setFromPlace(String fromPlace) {
+        this.fromPlace = fromPlace;
+    }
+
+    public String getToPlace() {
+        return toPlace;
+    }
+
+    public void setToPlace(String toPlace) {
+        this.toPlace = toPlace;
+    }
+
+    public LocalDate getDepartureDate() {
+        return departureDate;
+    }
+
+    public void setDepartureDate(LocalDate departureDate) {
+        this.departureDate = departureDate;
+    }
+
+    public LocalTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(LocalTime departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    public LocalTime getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public void setArrivalTime(LocalTime arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
+    public long getScheduleVersion() {
+        return scheduleVersion;
+    }
+
+    public void setScheduleVersion(long scheduleVersion) {
+        this.scheduleVersion = scheduleVersion;
+    }
+}
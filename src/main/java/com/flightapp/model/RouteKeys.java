@@ -0,0 +1,26 @@
+package com.flightapp.model;
+
+import java.util.Locale;
+
+// canonical form of place names so search is an exact match on an indexed key
+public final class RouteKeys {
+
+    private static final String SEPARATOR = "|";
+
+    private RouteKeys() {
+    }
+
+    public static String placeKey(String place) {
+        return place.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    }
+
+    public static String routeKey(String fromPlace, String toPlace) {
+        return placeKey(fromPlace) + SEPARATOR + placeKey(toPlace);
+    }
+
+    public static void apply(Flight flight) {
+        flight.setFromKey(placeKey(flight.getFromPlace()));
+        flight.setToKey(placeKey(flight.getToPlace()));
+        flight.setRouteKey(flight.getFromKey() + SEPARATOR + flight.getToKey());
+    }
+}
@@ -0,0 +1,73 @@
+package com.flightapp.model;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// one document per claimed seat; the id is "<flightId>:<seatNumber>" so Mongo's
+// unique _id index is what stops two bookings from holding the same seat
+@Document(collection = "seat_holds")
+public class SeatHold {
+
+    @Id
+    private String id;
+
+    private String flightId;
+
+    private String seatNumber;
+
+    private String pnr;
+
+    private LocalDateTime heldAt;
+
+    public static String idFor(String flightId, String seatNumber) {
+        return flightId + ":" + normalizeSeat(seatNumber);
+    }
+
+    // "12a" and " 12A" are the same seat
+    public static String normalizeSeat(String seatNumber) {
+        return seatNumber.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFlightId() {
+        return flightId;
+    }
+
+    public void setFlightId(String flightId) {
+        this.flightId = flightId;
+    }
+
+    public String getSeatNumber() {
+        return seatNumber;
+    }
+
+    public void setSeatNumber(String seatNumber) {
+        this.seatNumber = seatNumber;
+    }
+
+    public String getPnr() {
+        return pnr;
+    }
+
+    public void setPnr(String pnr) {
+        this.pnr = pnr;
+    }
+
+    public LocalDateTime getHeldAt() {
+        return heldAt;
+    }
+
+    public void setHeldAt(LocalDateTime heldAt) {
+        this.heldAt = heldAt;
+    }
+}
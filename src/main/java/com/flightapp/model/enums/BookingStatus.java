@@ -2,6 +2,7 @@ package com.flightapp.model.enums;
 
 
 public enum BookingStatus {
+    HELD,
     BOOKED,
     CANCELLED
 }
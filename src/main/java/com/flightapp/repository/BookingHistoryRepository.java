@@ -0,0 +1,17 @@
+package com.flightapp.repository;
+
+import java.time.LocalDateTime;
+
+import com.flightapp.model.Booking;
+
+import reactor.core.publisher.Flux;
+
+// history reads, sent to the members configured in ReadRoutes
+public interface BookingHistoryRepository {
+
+    // newest first
+    Flux<Booking> findHistory(String userEmail);
+
+    // keyset page on (bookedAt desc, id desc); pass null afterBookedAt for the first page
+    Flux<Booking> findHistoryPage(String userEmail, LocalDateTime afterBookedAt, String afterId, int limit);
+}
@@ -0,0 +1,57 @@
+package com.flightapp.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.flightapp.config.ReadRoutes;
+import com.flightapp.config.ReadRoutes.Route;
+import com.flightapp.model.Booking;
+
+import reactor.core.publisher.Flux;
+
+public class BookingHistoryRepositoryImpl implements BookingHistoryRepository {
+
+    private static final Sort HISTORY_ORDER = Sort.by(Sort.Order.desc("bookedAt"), Sort.Order.desc("id"));
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReadRoutes readRoutes;
+
+    public BookingHistoryRepositoryImpl(ReactiveMongoTemplate mongoTemplate, ReadRoutes readRoutes) {
+        this.mongoTemplate = mongoTemplate;
+        this.readRoutes = readRoutes;
+    }
+
+    @Override
+    public Flux<Booking> findHistory(String userEmail) {
+
+        Query query = Query.query(Criteria.where("userEmail").is(userEmail))
+                .with(HISTORY_ORDER)
+                .withReadPreference(readRoutes.preference(Route.HISTORY));
+
+        return mongoTemplate.find(query, Booking.class);
+    }
+
+    @Override
+    public Flux<Booking> findHistoryPage(String userEmail, LocalDateTime afterBookedAt, String afterId, int limit) {
+
+        Criteria criteria = Criteria.where("userEmail").is(userEmail);
+
+        if (afterBookedAt != null) {
+            // everything strictly after the cursor in (bookedAt desc, id desc) order
+            criteria = criteria.orOperator(
+                    Criteria.where("bookedAt").lt(afterBookedAt),
+                    Criteria.where("bookedAt").is(afterBookedAt).and("id").lt(afterId));
+        }
+
+        Query query = Query.query(criteria)
+                .with(HISTORY_ORDER)
+                .limit(limit)
+                .withReadPreference(readRoutes.preference(Route.HISTORY));
+
+        return mongoTemplate.find(query, Booking.class);
+    }
+}
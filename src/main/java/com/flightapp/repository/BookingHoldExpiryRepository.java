@@ -0,0 +1,25 @@
+package com.flightapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.flightapp.model.BookingHold;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface BookingHoldExpiryRepository {
+
+    // removes and returns the hold only while it is still live, so confirm and sweep never both win
+    Mono<BookingHold> takeLiveHold(String holdId, LocalDateTime now);
+
+    // marks up to `limit` expired holds with the sweep token and returns them; holds marked by a
+    // sweep that started before `staleBefore` are taken over, in case that sweeper died
+    Flux<BookingHold> claimExpired(String sweepToken, LocalDateTime now, LocalDateTime staleBefore, int limit);
+
+    // stamps one claimed hold whose seats were not given back yet and returns it; empty when a
+    // sweep already did, so a hold taken over from a dead sweep is not released a second time
+    Mono<BookingHold> claimSeatRelease(String sweepToken, String holdId);
+
+    Mono<Long> deleteClaimed(String sweepToken, List<String> holdIds);
+}
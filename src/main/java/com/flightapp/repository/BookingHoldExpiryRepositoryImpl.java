@@ -0,0 +1,76 @@
+package com.flightapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.flightapp.model.BookingHold;
+import com.mongodb.client.result.DeleteResult;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class BookingHoldExpiryRepositoryImpl implements BookingHoldExpiryRepository {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public BookingHoldExpiryRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<BookingHold> takeLiveHold(String holdId, LocalDateTime now) {
+        Query query = Query.query(Criteria.where("id").is(holdId)
+                .and("expiresAt").gt(now)
+                .and("sweptBy").exists(false));
+        return mongoTemplate.findAndRemove(query, BookingHold.class);
+    }
+
+    @Override
+    public Flux<BookingHold> claimExpired(String sweepToken, LocalDateTime now, LocalDateTime staleBefore, int limit) {
+
+        Criteria claimable = Criteria.where("expiresAt").lt(now).orOperator(
+                Criteria.where("sweptBy").exists(false),
+                Criteria.where("sweptAt").lt(staleBefore));
+
+        Query candidates = Query.query(claimable).limit(limit);
+        candidates.fields().include("id");
+
+        return mongoTemplate.find(candidates, BookingHold.class)
+                .map(BookingHold::getId)
+                .collectList()
+                .filter(ids -> !ids.isEmpty())
+                .flatMapMany(ids -> mongoTemplate.updateMulti(
+                                // re-check the claim condition, another sweeper may have been faster
+                                Query.query(new Criteria().andOperator(
+                                        Criteria.where("id").in(ids), claimable)),
+                                new Update().set("sweptBy", sweepToken).set("sweptAt", now),
+                                BookingHold.class)
+                        .thenMany(mongoTemplate.find(
+                                Query.query(Criteria.where("sweptBy").is(sweepToken)),
+                                BookingHold.class)));
+    }
+
+    @Override
+    public Mono<BookingHold> claimSeatRelease(String sweepToken, String holdId) {
+        Query unreleased = Query.query(Criteria.where("id").is(holdId)
+                .and("sweptBy").is(sweepToken)
+                .and("seatsReleasedBy").exists(false));
+        return mongoTemplate.findAndModify(unreleased, new Update().set("seatsReleasedBy", sweepToken),
+                RETURN_NEW, BookingHold.class);
+    }
+
+    @Override
+    public Mono<Long> deleteClaimed(String sweepToken, List<String> holdIds) {
+        Query query = Query.query(Criteria.where("id").in(holdIds).and("sweptBy").is(sweepToken));
+        return mongoTemplate.remove(query, BookingHold.class)
+                .map(DeleteResult::getDeletedCount);
+    }
+}
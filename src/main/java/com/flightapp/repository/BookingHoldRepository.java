@@ -0,0 +1,8 @@
+package com.flightapp.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.flightapp.model.BookingHold;
+
+public interface BookingHoldRepository extends ReactiveMongoRepository<BookingHold, String>, BookingHoldExpiryRepository {
+}
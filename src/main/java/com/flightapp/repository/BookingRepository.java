@@ -1,15 +1,16 @@
 package com.flightapp.repository;
 
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 
 import com.flightapp.model.Booking;
 
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface BookingRepository extends ReactiveMongoRepository<Booking, String> {
+public interface BookingRepository extends ReactiveMongoRepository<Booking, String>, BookingHistoryRepository,
+        BookingSeatReleaseRepository {
 
+    // read right after booking and inside cancel/update, so never from a lagging secondary
+    @ReadPreference("primary")
     Mono<Booking> findByPnr(String pnr);
-
-    Flux<Booking> findByUserEmailOrderByBookedAtDesc(String userEmail);
 }
@@ -0,0 +1,18 @@
+package com.flightapp.repository;
+
+import java.time.LocalDateTime;
+
+import com.flightapp.model.Booking;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface BookingSeatReleaseRepository {
+
+    // flips seatsReleased false -> true on a cancelled booking and returns it; empty when the
+    // seats were already given back, so at most one caller ever releases them
+    Mono<Booking> claimSeatRelease(String pnr);
+
+    // cancellations whose seat release never finished, oldest first
+    Flux<Booking> findUnreleasedCancellations(LocalDateTime cancelledBefore, int limit);
+}
@@ -0,0 +1,45 @@
+package com.flightapp.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.flightapp.model.Booking;
+import com.flightapp.model.enums.BookingStatus;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class BookingSeatReleaseRepositoryImpl implements BookingSeatReleaseRepository {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public BookingSeatReleaseRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Booking> claimSeatRelease(String pnr) {
+        Query query = Query.query(Criteria.where("pnr").is(pnr)
+                .and("status").is(BookingStatus.CANCELLED)
+                .and("seatsReleased").is(false));
+        Update update = new Update().set("seatsReleased", true).inc("version", 1);
+        return mongoTemplate.findAndModify(query, update, RETURN_NEW, Booking.class);
+    }
+
+    @Override
+    public Flux<Booking> findUnreleasedCancellations(LocalDateTime cancelledBefore, int limit) {
+        Query query = Query.query(Criteria.where("seatsReleased").is(false)
+                        .and("cancelledAt").lt(cancelledBefore))
+                .with(Sort.by("cancelledAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, Booking.class);
+    }
+}
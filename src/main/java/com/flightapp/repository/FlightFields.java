@@ -0,0 +1,27 @@
+package com.flightapp.repository;
+
+import org.springframework.data.mongodb.core.query.Query;
+
+// field projections for the hot flight reads; _id always comes back
+public final class FlightFields {
+
+    // what a ticket shows, plus what FlightChangedEvent listeners key on (route, date, seats)
+    // and the schedule version a booking's snapshot records
+    public static final String[] TICKET = {
+            "airlineName", "airlineLogoUrl", "fromPlace", "toPlace", "routeKey",
+            "departureDate", "departureTime", "arrivalTime", "availableSeats", "scheduleVersion"
+    };
+
+    private FlightFields() {
+    }
+
+    static Query ticket(Query query) {
+        query.fields().include(TICKET);
+        return query;
+    }
+
+    static Query idOnly(Query query) {
+        query.fields().include("_id");
+        return query;
+    }
+}
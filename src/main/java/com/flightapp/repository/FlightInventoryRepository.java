@@ -0,0 +1,21 @@
+package com.flightapp.repository;
+
+import java.util.List;
+
+import com.flightapp.model.Flight;
+
+import reactor.core.publisher.Mono;
+
+public interface FlightInventoryRepository {
+
+    // atomically takes seats only if enough are left, returns the updated flight or empty;
+    // the flight comes back with the FlightFields.TICKET fields only
+    Mono<Flight> reserveSeats(String flightId, int seats);
+
+    // atomically gives seats back, returns the updated flight (FlightFields.TICKET fields only)
+    // or empty if flight is missing
+    Mono<Flight> releaseSeats(String flightId, int seats);
+
+    // one unordered bulk insert, so a bad document does not stop the rest of the batch
+    Mono<Integer> insertUnordered(List<Flight> flights);
+}
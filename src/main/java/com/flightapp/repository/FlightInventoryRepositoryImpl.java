@@ -0,0 +1,50 @@
+package com.flightapp.repository;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.flightapp.model.Flight;
+import com.mongodb.bulk.BulkWriteResult;
+
+import reactor.core.publisher.Mono;
+
+public class FlightInventoryRepositoryImpl implements FlightInventoryRepository {
+
+    private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public FlightInventoryRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Flight> reserveSeats(String flightId, int seats) {
+        // single findAndModify: { _id, availableSeats >= n } -> $inc -n
+        Query query = Query.query(Criteria.where("id").is(flightId)
+                .and("availableSeats").gte(seats));
+        Update update = new Update().inc("availableSeats", -seats).inc("version", 1);
+        return mongoTemplate.findAndModify(FlightFields.ticket(query), update, RETURN_NEW, Flight.class);
+    }
+
+    @Override
+    public Mono<Flight> releaseSeats(String flightId, int seats) {
+        Query query = Query.query(Criteria.where("id").is(flightId));
+        Update update = new Update().inc("availableSeats", seats).inc("version", 1);
+        return mongoTemplate.findAndModify(FlightFields.ticket(query), update, RETURN_NEW, Flight.class);
+    }
+
+    @Override
+    public Mono<Integer> insertUnordered(List<Flight> flights) {
+        return mongoTemplate.bulkOps(BulkMode.UNORDERED, Flight.class)
+                .insert(flights)
+                .execute()
+                .map(BulkWriteResult::getInsertedCount);
+    }
+}
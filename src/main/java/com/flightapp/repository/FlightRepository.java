@@ -8,11 +8,10 @@ import com.flightapp.model.Flight;
 
 import reactor.core.publisher.Flux;
 
-public interface FlightRepository extends ReactiveMongoRepository<Flight, String> {
+public interface FlightRepository extends ReactiveMongoRepository<Flight, String>, FlightInventoryRepository,
+        FlightSearchRepository {
 
-    Flux<Flight> findByFromPlaceIgnoreCaseAndToPlaceIgnoreCaseAndDepartureDate(
-            String fromPlace,
-            String toPlace,
-            LocalDate departureDate
-    );
+    Flux<Flight> findByRouteKeyAndDepartureDate(String routeKey, LocalDate departureDate);
+
+    Flux<Flight> findByDepartureDate(LocalDate departureDate);
 }
@@ -0,0 +1,25 @@
+package com.flightapp.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+import com.flightapp.model.Flight;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// read-side flight queries: search reads go to the members configured in ReadRoutes,
+// ticket views stay on the primary
+public interface FlightSearchRepository {
+
+    // fromPrimary overrides the search route, for reloads right after a flight changed
+    Flux<Flight> findForSearch(String routeKey, LocalDate departureDate, boolean fromPrimary);
+
+    // ids only, filtered server-side to round-trip flights when asked
+    Flux<String> findIdsForSearch(String routeKey, LocalDate departureDate, boolean roundTripOnly);
+
+    // the FlightFields.TICKET view of a flight, for ticket lookups and history
+    Mono<Flight> findTicketView(String flightId);
+
+    Flux<Flight> findTicketViews(Collection<String> flightIds);
+}
@@ -0,0 +1,64 @@
+package com.flightapp.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.flightapp.config.ReadRoutes;
+import com.flightapp.config.ReadRoutes.Route;
+import com.flightapp.model.Flight;
+import com.mongodb.ReadPreference;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class FlightSearchRepositoryImpl implements FlightSearchRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReadRoutes readRoutes;
+
+    public FlightSearchRepositoryImpl(ReactiveMongoTemplate mongoTemplate, ReadRoutes readRoutes) {
+        this.mongoTemplate = mongoTemplate;
+        this.readRoutes = readRoutes;
+    }
+
+    // search results are cached for seconds anyway, so a slightly stale secondary is acceptable,
+    // except when the cache is refilled because the flights just changed
+    @Override
+    public Flux<Flight> findForSearch(String routeKey, LocalDate departureDate, boolean fromPrimary) {
+        return mongoTemplate.find(routeQuery(routeKey, departureDate)
+                .withReadPreference(fromPrimary ? ReadPreference.primary() : readRoutes.preference(Route.SEARCH)),
+                Flight.class);
+    }
+
+    @Override
+    public Flux<String> findIdsForSearch(String routeKey, LocalDate departureDate, boolean roundTripOnly) {
+        Query query = routeQuery(routeKey, departureDate);
+        if (roundTripOnly) {
+            query.addCriteria(Criteria.where("roundTripAvailable").is(true));
+        }
+        return mongoTemplate.find(FlightFields.idOnly(query)
+                        .withReadPreference(readRoutes.preference(Route.SEARCH_IDS)), Flight.class)
+                .map(Flight::getId);
+    }
+
+    @Override
+    public Mono<Flight> findTicketView(String flightId) {
+        return mongoTemplate.findOne(FlightFields.ticket(
+                Query.query(Criteria.where("id").is(flightId))), Flight.class);
+    }
+
+    @Override
+    public Flux<Flight> findTicketViews(Collection<String> flightIds) {
+        return mongoTemplate.find(FlightFields.ticket(
+                Query.query(Criteria.where("id").in(flightIds))), Flight.class);
+    }
+
+    private static Query routeQuery(String routeKey, LocalDate departureDate) {
+        return new Query(Criteria.where("routeKey").is(routeKey)
+                .and("departureDate").is(departureDate));
+    }
+}
@@ -0,0 +1,16 @@
+package com.flightapp.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.flightapp.model.SeatHold;
+
+import reactor.core.publisher.Mono;
+
+public interface SeatHoldRepository extends ReactiveMongoRepository<SeatHold, String> {
+
+    Mono<Long> deleteByIdInAndPnr(Collection<String> ids, String pnr);
+
+    Mono<Long> deleteByIdInAndPnrIn(Collection<String> ids, Collection<String> pnrs);
+}
@@ -0,0 +1,362 @@
+package com.flightapp.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.model.Booking;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+// optional write-behind store for new bookings. A booking is appended to a local memory-mapped
+// journal and acknowledged once the page is forced to disk; one writer thread forces everything
+// that queued up meanwhile in a single msync (group commit). A drainer bulk-upserts the durable
+// entries into Mongo, and entries still in the journal at startup are replayed. Until an entry is
+// drained it is served from memory by PNR
+@Component
+public class BookingJournal implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingJournal.class);
+
+    private final ReactiveMongoOperations mongoOperations;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxGroup;
+    private final int drainBatchSize;
+    private final Duration drainInterval;
+
+    private final BlockingQueue<Append> appends = new LinkedBlockingQueue<>();
+    private final Map<String, Entry> pending = new ConcurrentHashMap<>();
+    private final Sinks.Many<Entry> toDrain = Sinks.many().unicast().onBackpressureBuffer();
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong drained = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private DistributionSummary groupSize;
+
+    private volatile boolean running;
+    private Thread writer;
+    private Disposable drainer;
+    private final CompletableFuture<Void> drainerDone = new CompletableFuture<>();
+    private JournalSegment current;
+
+    public BookingJournal(ReactiveMongoOperations mongoOperations,
+                          ObjectMapper objectMapper,
+                          @Value("${flightapp.booking.journal.enabled:false}") boolean enabled,
+                          @Value("${flightapp.booking.journal.directory:./data/booking-journal}") Path directory,
+                          @Value("${flightapp.booking.journal.segment-size:67108864}") int segmentSize,
+                          @Value("${flightapp.booking.journal.max-group:256}") int maxGroup,
+                          @Value("${flightapp.booking.journal.drain-batch-size:500}") int drainBatchSize,
+                          @Value("${flightapp.booking.journal.drain-interval:PT0.05S}") Duration drainInterval) {
+        this.mongoOperations = mongoOperations;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxGroup = maxGroup;
+        this.drainBatchSize = drainBatchSize;
+        this.drainInterval = drainInterval;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // completes once the booking is on disk, not once it is in Mongo
+    public Mono<Void> append(Booking booking) {
+        return Mono.defer(() -> {
+            if (!running) {
+                return Mono.error(new IllegalStateException("Booking journal is not running"));
+            }
+            byte[] payload;
+            try {
+                payload = objectMapper.writeValueAsBytes(booking);
+            } catch (IOException e) {
+                return Mono.error(new UncheckedIOException(e));
+            }
+            Append append = new Append(booking, payload, new CompletableFuture<>());
+            appends.add(append);
+            return Mono.fromFuture(append.durable(), true);
+        });
+    }
+
+    // a journaled booking the drainer has not stored yet
+    public Booking pending(String pnr) {
+        Entry entry = pending.get(pnr);
+        return entry == null ? null : entry.booking();
+    }
+
+    public Mono<Void> awaitDrained(String pnr) {
+        Entry entry = pending.get(pnr);
+        return entry == null ? Mono.empty() : Mono.fromFuture(entry.drained(), true);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            replay();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open booking journal in " + directory, e);
+        }
+
+        drainer = toDrain.asFlux()
+                .bufferTimeout(drainBatchSize, drainInterval)
+                .concatMap(batch -> store(batch)
+                        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(100))
+                                .maxBackoff(Duration.ofSeconds(5))
+                                .doBeforeRetry(signal -> log.warn("Booking journal drain failed, retrying: {}",
+                                        signal.failure().getMessage())))
+                        .thenReturn(batch))
+                .doOnNext(this::drainedBatch)
+                .doFinally(signal -> drainerDone.complete(null))
+                .subscribe();
+
+        running = true;
+        writer = new Thread(this::writeLoop, "booking-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+            // an append that raced the shutdown is refused rather than left waiting
+            Append late;
+            while ((late = appends.poll()) != null) {
+                late.durable().completeExceptionally(new IllegalStateException("Booking journal is not running"));
+            }
+            toDrain.tryEmitComplete();
+            // whatever is not drained in time is replayed on the next start
+            drainerDone.get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Booking journal stopped with {} entries not drained", pending.size());
+        }
+        drainer.dispose();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // up before the web server takes requests, down after it stops taking them
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void replay() throws IOException {
+        List<Path> files = JournalSegment.list(directory);
+        for (Path file : files) {
+            List<JournalSegment.Replayed> entries = new ArrayList<>();
+            JournalSegment segment = JournalSegment.open(file, JournalSegment.sequenceOf(file), entries);
+            segment.seal();
+            for (JournalSegment.Replayed entry : entries) {
+                Booking booking = objectMapper.readValue(entry.payload(), Booking.class);
+                enqueue(new Entry(booking, segment, entry.end(), new CompletableFuture<>()));
+            }
+            replayed.addAndGet(entries.size());
+            if (entries.isEmpty()) {
+                segment.delete();
+            }
+        }
+
+        long next = files.isEmpty() ? 1 : JournalSegment.sequenceOf(files.get(files.size() - 1)) + 1;
+        current = JournalSegment.create(directory, next, segmentSize);
+
+        if (replayed.get() > 0) {
+            log.info("Replaying {} journaled bookings into Mongo", replayed.get());
+        }
+    }
+
+    private void writeLoop() {
+        List<Append> group = new ArrayList<>(maxGroup);
+        while (running || !appends.isEmpty()) {
+            try {
+                Append first = appends.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                appends.drainTo(group, maxGroup - 1);
+                commit(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<Append> group) {
+        List<Append> waiting = new ArrayList<>(group.size());
+        List<Entry> written = new ArrayList<>(group.size());
+        int groupStart = current.writePosition();
+        try {
+            for (Append append : group) {
+                if (!current.append(append.payload())) {
+                    // what is already in the full segment is forced by the roll; settle it first
+                    roll(groupStart);
+                    acknowledge(waiting, written);
+                    groupStart = current.writePosition();
+                    if (!current.append(append.payload())) {
+                        append.durable().completeExceptionally(
+                                new IllegalStateException("Booking is larger than a journal segment"));
+                        continue;
+                    }
+                }
+                waiting.add(append);
+                written.add(new Entry(append.booking(), current, current.writePosition(), new CompletableFuture<>()));
+            }
+            current.force(groupStart);
+        } catch (IOException | RuntimeException e) {
+            // callers are told the booking failed and give the seats back, so the entries must
+            // not come back on replay either
+            log.error("Booking journal write failed", e);
+            current.truncate(groupStart);
+            waiting.forEach(append -> append.durable().completeExceptionally(e));
+            return;
+        }
+        acknowledge(waiting, written);
+    }
+
+    private void acknowledge(List<Append> waiting, List<Entry> written) {
+        if (written.isEmpty()) {
+            return;
+        }
+        if (groupSize != null) {
+            groupSize.record(written.size());
+        }
+        appended.addAndGet(written.size());
+        written.forEach(this::enqueue);
+        waiting.forEach(append -> append.durable().complete(null));
+        waiting.clear();
+        written.clear();
+    }
+
+    private void roll(int unforcedFrom) throws IOException {
+        current.force(unforcedFrom);
+        current.seal();
+        current = JournalSegment.create(directory, current.sequence() + 1, segmentSize);
+    }
+
+    private void enqueue(Entry entry) {
+        pending.put(entry.booking().getPnr(), entry);
+        toDrain.emitNext(entry, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    // insert-if-absent by PNR: a replayed entry that is already stored leaves the stored
+    // booking alone, including any cancellation or meal change made since
+    private Mono<Void> store(List<Entry> batch) {
+        var bulk = mongoOperations.bulkOps(BulkMode.UNORDERED, Booking.class);
+        for (Entry entry : batch) {
+            Document document = new Document();
+            mongoOperations.getConverter().write(entry.booking(), document);
+            Update insert = new Update();
+            document.forEach((field, value) -> {
+                if (!"_id".equals(field) && !"pnr".equals(field) && !"version".equals(field)) {
+                    insert.setOnInsert(field, value);
+                }
+            });
+            // stored as a first save would be, so later versioned saves update it
+            insert.setOnInsert("version", 0L);
+            bulk.upsert(Query.query(Criteria.where("pnr").is(entry.booking().getPnr())), insert);
+        }
+        return bulk.execute().then();
+    }
+
+    private void drainedBatch(List<Entry> batch) {
+        Map<JournalSegment, Integer> drainedTo = new LinkedHashMap<>();
+        for (Entry entry : batch) {
+            pending.remove(entry.booking().getPnr(), entry);
+            entry.drained().complete(null);
+            drainedTo.put(entry.segment(), entry.end());
+        }
+        drained.addAndGet(batch.size());
+
+        drainedTo.forEach((segment, end) -> {
+            segment.markDrained(end);
+            if (segment.fullyDrained(end)) {
+                try {
+                    segment.delete();
+                } catch (IOException e) {
+                    log.warn("Could not delete drained journal segment {}", segment.sequence(), e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "appended", appended);
+        counter(registry, "replayed", replayed);
+        counter(registry, "drained", drained);
+        Gauge.builder("flightapp.booking.journal.pending", pending, Map::size)
+                .description("Journaled bookings not yet stored in Mongo")
+                .register(registry);
+        this.groupSize = DistributionSummary.builder("flightapp.booking.journal.group.size")
+                .description("Bookings made durable per journal force")
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String event, AtomicLong value) {
+        FunctionCounter.builder("flightapp.booking.journal.entries", value, AtomicLong::get)
+                .description("Booking journal entries by event")
+                .tag("event", event)
+                .register(registry);
+    }
+
+    private record Append(Booking booking, byte[] payload, CompletableFuture<Void> durable) {
+    }
+
+    private record Entry(Booking booking, JournalSegment segment, int end, CompletableFuture<Void> drained) {
+    }
+}
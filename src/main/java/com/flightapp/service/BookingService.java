@@ -1,43 +1,197 @@
 package com.flightapp.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import com.flightapp.dto.BookingHistoryPage;
 import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.HoldResponse;
 import com.flightapp.dto.TicketResponse;
 import com.flightapp.exception.BusinessException;
 import com.flightapp.exception.ResourceNotFoundException;
 import com.flightapp.model.Booking;
+import com.flightapp.model.BookingHold;
 import com.flightapp.model.Flight;
+import com.flightapp.model.FlightSnapshot;
+import com.flightapp.model.Passenger;
+import com.flightapp.model.SeatHold;
 import com.flightapp.model.enums.BookingStatus;
 import com.flightapp.model.enums.MealType;
+import com.flightapp.repository.BookingHoldRepository;
 import com.flightapp.repository.BookingRepository;
 import com.flightapp.repository.FlightRepository;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 @Service
 public class BookingService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int HISTORY_STREAM_BATCH_SIZE = 100;
+    private static final Duration CONFLICT_BACKOFF = Duration.ofMillis(5);
+
     private final BookingRepository bookingRepository;
     private final FlightRepository flightRepository;
     private final PnrGenerator pnrGenerator;
+    private final SeatMapService seatMapService;
+    private final BookingHoldRepository bookingHoldRepository;
+    private final BookingTransactions bookingTransactions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ServiceMetrics metrics;
+    private final MongoTimeouts timeouts;
+    private final TicketCache ticketCache;
+    private final BookingJournal journal;
+    private final Duration holdDuration;
+    private final int conflictRetries;
 
     public BookingService(BookingRepository bookingRepository,
                           FlightRepository flightRepository,
-                          PnrGenerator pnrGenerator) {
+                          PnrGenerator pnrGenerator,
+                          SeatMapService seatMapService,
+                          BookingHoldRepository bookingHoldRepository,
+                          BookingTransactions bookingTransactions,
+                          ApplicationEventPublisher eventPublisher,
+                          ServiceMetrics metrics,
+                          MongoTimeouts timeouts,
+                          TicketCache ticketCache,
+                          BookingJournal journal,
+                          @Value("${flightapp.booking.holds.duration:PT10M}") Duration holdDuration,
+                          @Value("${flightapp.booking.conflict-retries:5}") int conflictRetries) {
         this.bookingRepository = bookingRepository;
         this.flightRepository = flightRepository;
         this.pnrGenerator = pnrGenerator;
+        this.seatMapService = seatMapService;
+        this.bookingHoldRepository = bookingHoldRepository;
+        this.bookingTransactions = bookingTransactions;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.timeouts = timeouts;
+        this.ticketCache = ticketCache;
+        this.journal = journal;
+        this.holdDuration = holdDuration;
+        this.conflictRetries = conflictRetries;
     }
 
     public Mono<TicketResponse> bookTicket(String flightId, BookingRequest request) {
 
-    	
-    	if (request.getPassengers() == null || request.getSeatNumbers() == null) {
-            return Mono.error(new BusinessException("Passengers and seat numbers are required"));
+        String error = validateBookingRequest(request);
+        if (error != null) {
+            return Mono.error(new BusinessException(error));
+        }
+
+        String pnr = pnrGenerator.generatePnr();
+
+        // the PNR is fixed outside the transaction so a retried attempt books the same code;
+        // the flight event goes out only once the booking is committed
+        return metrics.timed("book", bookingTransactions.execute(() -> reserveSeats(flightId, pnr, request.getSeatNumbers())
+                        .flatMap(flight -> {
+                            Booking booking = newBooking(pnr, flight,
+                                    request.getUserName(), request.getUserEmail(), request.getPassengers(),
+                                    request.getSeatNumbers(), request.getMealType());
+                            return journal.isEnabled()
+                                    ? Mono.just(new Booked(flight, booking))
+                                    : storeBooking(flight, booking);
+                        }))
+                .flatMap(booked -> journal.isEnabled() ? journalBooking(booked) : Mono.just(booked))
+                .doOnNext(booked -> {
+                    metrics.booked();
+                    publishFlightChanged(booked.flight());
+                })
+                .map(booked -> mapToTicketResponse(booked.booking(), booked.flight())));
+    }
+
+    // first phase of checkout: seats are taken from the flight now and come back on their own
+    // if the hold is not confirmed before it expires
+    public Mono<HoldResponse> holdSeats(String flightId, BookingRequest request) {
+
+        String error = validateBookingRequest(request);
+        if (error != null) {
+            return Mono.error(new BusinessException(error));
+        }
+
+        String pnr = pnrGenerator.generatePnr();
+
+        return metrics.timed("hold", bookingTransactions.execute(() -> reserveSeats(flightId, pnr, request.getSeatNumbers())
+                        .flatMap(flight -> {
+
+                            LocalDateTime now = LocalDateTime.now();
+
+                            BookingHold hold = new BookingHold();
+                            // chosen here so a save with an unknown outcome can be looked up
+                            hold.setId(ObjectId.get().toHexString());
+                            hold.setPnr(pnr);
+                            hold.setFlightId(flight.getId());
+                            hold.setUserName(request.getUserName());
+                            hold.setUserEmail(request.getUserEmail());
+                            hold.setNumberOfSeats(request.getNumberOfSeats());
+                            hold.setPassengers(request.getPassengers());
+                            hold.setSeatNumbers(request.getSeatNumbers());
+                            hold.setMealType(request.getMealType());
+                            hold.setStatus(BookingStatus.HELD);
+                            hold.setHeldAt(now);
+                            hold.setExpiresAt(now.plus(holdDuration));
+
+                            return bookingHoldRepository.save(hold)
+                                    .onErrorResume(e -> unlessStored(e,
+                                            timeouts.read("findHold", bookingHoldRepository.findById(hold.getId())),
+                                            releaseReserved(flightId, pnr, request.getSeatNumbers())))
+                                    .map(saved -> new Held(flight, saved));
+                        }))
+                .doOnNext(held -> {
+                    metrics.held();
+                    publishFlightChanged(held.flight());
+                })
+                .map(held -> mapToHoldResponse(held.hold())));
+    }
+
+    // second phase: the hold is removed only while still live, so it cannot race the sweeper
+    public Mono<TicketResponse> confirmHold(String holdId, String loggedInEmail) {
+
+        return metrics.timed("confirm", timeouts.read("findHold", bookingHoldRepository.findById(holdId))
+                .switchIfEmpty(Mono.error(
+                        new ResourceNotFoundException("Hold not found: " + holdId)))
+                .flatMap(hold -> {
+
+                    if (!hold.getUserEmail().equalsIgnoreCase(loggedInEmail)) {
+                        return Mono.error(new BusinessException(
+                                "You can confirm only your own holds"));
+                    }
+
+                    return bookingTransactions.execute(() -> bookingHoldRepository.takeLiveHold(holdId, LocalDateTime.now())
+                            .switchIfEmpty(Mono.error(new BusinessException("Hold has expired")))
+                            .flatMap(live -> timeouts.read("findFlight", flightRepository.findTicketView(live.getFlightId()))
+                                    .switchIfEmpty(Mono.error(
+                                            new ResourceNotFoundException("Flight not found")))
+                                    .flatMap(flight -> {
+                                        Booking booking = newBooking(live.getPnr(), flight,
+                                                live.getUserName(), live.getUserEmail(), live.getPassengers(),
+                                                live.getSeatNumbers(), live.getMealType());
+                                        return bookingRepository.save(booking)
+                                                // put the hold back so its seats stay held until expiry
+                                                .onErrorResume(e -> unlessStored(e, storedBooking(booking),
+                                                        bookingHoldRepository.save(live)))
+                                                .map(saved -> mapToTicketResponse(saved, flight));
+                                    })));
+                })
+                .doOnNext(ticket -> metrics.confirmed()));
+    }
+
+    String validateBookingRequest(BookingRequest request) {
+
+        if (request.getPassengers() == null || request.getSeatNumbers() == null) {
+            return "Passengers and seat numbers are required";
         }
 
         int requested = request.getNumberOfSeats();
@@ -45,67 +199,143 @@ public class BookingService {
         int seatCount = request.getSeatNumbers().size();
 
         if (requested != passengerCount || requested != seatCount) {
-            return Mono.error(new BusinessException(
-                    "Number of seats must match passengers count and seat numbers count"));
+            return "Number of seats must match passengers count and seat numbers count";
         }
 
         // check for blank or duplicate seats
         if (request.getSeatNumbers().stream().anyMatch(s -> s == null || s.isBlank())) {
-            return Mono.error(new BusinessException("Seat numbers cannot be blank"));
+            return "Seat numbers cannot be blank";
         }
 
-        long distinctSeatCount = request.getSeatNumbers().stream().distinct().count();
+        // compared the way seat holds key them, so "12a" and "12A" count as the same seat
+        long distinctSeatCount = request.getSeatNumbers().stream()
+                .map(SeatHold::normalizeSeat)
+                .distinct()
+                .count();
         if (distinctSeatCount != seatCount) {
-            return Mono.error(new BusinessException("Seat numbers must be unique"));
+            return "Seat numbers must be unique";
         }
 
-        return flightRepository.findById(flightId)
-                .switchIfEmpty(Mono.error(
-                        new ResourceNotFoundException("Flight not found with id: " + flightId)))
-                .flatMap(flight -> {
+        return null;
+    }
 
-                    if (flight.getAvailableSeats() < request.getNumberOfSeats()) {
-                        return Mono.error(new BusinessException("Not enough seats available"));
-                    }
+    // claim the individual seats first, then take the seat count server-side in one
+    // conditional $inc, so concurrent bookers can neither share a seat nor oversell
+    private Mono<Flight> reserveSeats(String flightId, String pnr, List<String> seatNumbers) {
+
+        int requested = seatNumbers.size();
+
+        return seatMapService.claimSeats(flightId, pnr, seatNumbers)
+                .then(flightRepository.reserveSeats(flightId, requested)
+                        .switchIfEmpty(Mono.defer(() -> timeouts.read("existsFlight", flightRepository.existsById(flightId))
+                                .flatMap(exists -> {
+                                    if (!exists) {
+                                        return Mono.<Flight>error(new ResourceNotFoundException(
+                                                "Flight not found with id: " + flightId));
+                                    }
+                                    metrics.soldOut();
+                                    return Mono.<Flight>error(new BusinessException("Not enough seats available"));
+                                })))
+                        .onErrorResume(e -> quietly(seatMapService.releaseSeats(flightId, pnr, seatNumbers))
+                                .then(Mono.error(e))));
+    }
 
-                    int updatedSeats = flight.getAvailableSeats() - request.getNumberOfSeats();
-                    flight.setAvailableSeats(updatedSeats);
-
-                    return flightRepository.save(flight)
-                            .flatMap(savedFlight -> {
-
-                                Booking booking = new Booking();
-                                booking.setPnr(pnrGenerator.generatePnr());
-                                booking.setFlightId(savedFlight.getId());
-                                booking.setUserName(request.getUserName());
-                                booking.setUserEmail(request.getUserEmail());
-                                booking.setNumberOfSeats(request.getNumberOfSeats());
-                                booking.setPassengers(request.getPassengers());
-                                booking.setSeatNumbers(request.getSeatNumbers());
-                                booking.setMealType(request.getMealType());
-                                booking.setStatus(BookingStatus.BOOKED);
-                                booking.setBookedAt(LocalDateTime.now());
-                                booking.setJourneyDate(savedFlight.getDepartureDate());
-                                booking.setJourneyDepartureDateTime(
-                                        LocalDateTime.of(
-                                                savedFlight.getDepartureDate(),
-                                                savedFlight.getDepartureTime()
-                                        )
-                                );
-
-                                return bookingRepository.save(booking)
-                                        .map(b -> mapToTicketResponse(b, savedFlight));
-                            });
-                });
+    private Mono<Void> releaseReserved(String flightId, String pnr, List<String> seatNumbers) {
+        return flightRepository.releaseSeats(flightId, seatNumbers.size())
+                .then(seatMapService.releaseSeats(flightId, pnr, seatNumbers));
+    }
+
+    // give the seats back if the booking itself could not be stored; inside a
+    // transaction the abort already does this and the compensation is a no-op
+    private Mono<Booked> storeBooking(Flight flight, Booking booking) {
+        return bookingRepository.save(booking)
+                .onErrorResume(e -> unlessStored(e, storedBooking(booking),
+                        releaseReserved(flight.getId(), booking.getPnr(), booking.getSeatNumbers())))
+                .map(saved -> new Booked(flight, saved));
+    }
+
+    private Mono<Booking> storedBooking(Booking booking) {
+        return timeouts.read("findBooking", bookingRepository.findByPnr(booking.getPnr()))
+                .filter(stored -> booking.getId().equals(stored.getId()));
+    }
+
+    // write-behind mode: the seats are committed first and the booking is acknowledged once it
+    // is durable in the local journal; Mongo gets it from the journal's drainer
+    private Mono<Booked> journalBooking(Booked booked) {
+        Booking booking = booked.booking();
+        return journal.append(booking)
+                .onErrorResume(e -> quietly(releaseReserved(booking.getFlightId(), booking.getPnr(), booking.getSeatNumbers()))
+                        .then(Mono.error(e)))
+                .thenReturn(booked);
+    }
+
+    // a concurrent save got there first: the whole read-check-write is run again from a fresh
+    // read of the booking, a few times, before the conflict is reported as a 409
+    private <T> Mono<T> retryOnConflict(String operation, Mono<T> mutation) {
+        return mutation.retryWhen(Retry.backoff(conflictRetries, CONFLICT_BACKOFF)
+                .filter(OptimisticLockingFailureException.class::isInstance)
+                .doBeforeRetry(signal -> metrics.conflict(operation, "retried"))
+                .onRetryExhaustedThrow((spec, signal) -> {
+                    metrics.conflict(operation, "exhausted");
+                    return signal.failure();
+                }));
+    }
+
+    // a booking still in the journal is not in Mongo yet; changes to it wait for the drainer
+    private Mono<Void> awaitJournaled(String pnr) {
+        return timeouts.write("awaitJournal", journal.awaitDrained(pnr));
+    }
+
+    private Booking newBooking(String pnr, Flight flight, String userName, String userEmail,
+                               List<Passenger> passengers, List<String> seatNumbers, MealType mealType) {
+
+        Booking booking = new Booking();
+        // chosen here so a save with an unknown outcome can be told apart from another booking
+        booking.setId(ObjectId.get().toHexString());
+        booking.setPnr(pnr);
+        booking.setFlightId(flight.getId());
+        booking.setFlight(FlightSnapshot.of(flight));
+        booking.setUserName(userName);
+        booking.setUserEmail(userEmail);
+        booking.setNumberOfSeats(seatNumbers.size());
+        booking.setPassengers(passengers);
+        booking.setSeatNumbers(seatNumbers);
+        booking.setMealType(mealType);
+        booking.setStatus(BookingStatus.BOOKED);
+        booking.setBookedAt(LocalDateTime.now());
+        booking.setJourneyDate(flight.getDepartureDate());
+        booking.setJourneyDepartureDateTime(
+                LocalDateTime.of(
+                        flight.getDepartureDate(),
+                        flight.getDepartureTime()
+                )
+        );
+        return booking;
+    }
+
+    public Map<String, Object> transactionStats() {
+        return bookingTransactions.stats();
     }
 
     public Mono<TicketResponse> getTicketByPnr(String pnr) {
 
-        return bookingRepository.findByPnr(pnr)
+        // the same PNR is fetched by several clients right after booking; they share one load
+        return metrics.timed("ticket", ticketCache.get(pnr, () -> loadTicket(pnr)));
+    }
+
+    private Mono<TicketResponse> loadTicket(String pnr) {
+
+        Booking journaled = journal.pending(pnr);
+        if (journaled != null) {
+            return Mono.just(mapToTicketResponse(journaled));
+        }
+
+        return timeouts.read("findBooking", bookingRepository.findByPnr(pnr))
                 .switchIfEmpty(Mono.error(
                         new ResourceNotFoundException("Booking not found for PNR: " + pnr)))
-                .flatMap(booking ->
-                        flightRepository.findById(booking.getFlightId())
+                .flatMap(booking -> booking.getFlight() != null
+                        ? Mono.just(mapToTicketResponse(booking))
+                        : timeouts.read("findFlight", flightRepository.findTicketView(booking.getFlightId()))
                                 .switchIfEmpty(Mono.error(
                                         new ResourceNotFoundException("Flight not found")))
                                 .map(flight -> mapToTicketResponse(booking, flight))
@@ -114,18 +344,66 @@ public class BookingService {
 
     public Flux<TicketResponse> getBookingHistory(String emailId) {
 
-        return bookingRepository.findByUserEmailOrderByBookedAtDesc(emailId)
-                .flatMap(booking ->
-                        flightRepository.findById(booking.getFlightId())
-                                .map(flight -> mapToTicketResponse(booking, flight))
-                );
+        // one query for the bookings, one projected query for their flights, joined in memory
+        // while keeping the bookedAt-desc order of the bookings
+        return timeouts.read("bookingHistory", bookingRepository.findHistory(emailId))
+                .collectList()
+                .flatMapMany(this::joinWithFlights);
+    }
+
+    public Mono<BookingHistoryPage> getBookingHistoryPage(String emailId, int limit, String after) {
+
+        if (limit < 1 || limit > MAX_HISTORY_PAGE_SIZE) {
+            return Mono.error(new BusinessException(
+                    "Limit must be between 1 and " + MAX_HISTORY_PAGE_SIZE));
+        }
+
+        HistoryCursor cursor;
+        try {
+            cursor = after == null || after.isBlank() ? null : HistoryCursor.decode(after);
+        } catch (BusinessException e) {
+            return Mono.error(e);
+        }
+
+        // fetch one extra row to know whether there is a next page
+        return timeouts.read("bookingHistoryPage", bookingRepository.findHistoryPage(
+                        emailId,
+                        cursor == null ? null : cursor.bookedAt(),
+                        cursor == null ? null : cursor.id(),
+                        limit + 1))
+                .collectList()
+                .flatMap(bookings -> {
+
+                    boolean hasMore = bookings.size() > limit;
+                    List<Booking> page = hasMore ? bookings.subList(0, limit) : bookings;
+
+                    return joinWithFlights(page)
+                            .collectList()
+                            .map(tickets -> {
+                                BookingHistoryPage response = new BookingHistoryPage();
+                                response.setBookings(tickets);
+                                response.setNextCursor(hasMore
+                                        ? HistoryCursor.of(page.get(page.size() - 1)).encode()
+                                        : null);
+                                return response;
+                            });
+                });
+    }
+
+    public Flux<TicketResponse> streamBookingHistory(String emailId) {
+
+        // the Mongo cursor is pulled with backpressure and joined in fixed-size batches,
+        // so memory stays bounded by the batch size rather than by the user's history
+        return timeouts.read("bookingHistory", bookingRepository.findHistory(emailId))
+                .buffer(HISTORY_STREAM_BATCH_SIZE)
+                .concatMap(this::joinWithFlights);
     }
 
     public Mono<Void> cancelBooking(String pnr, String loggedInEmail) {
 
         LocalDateTime now = LocalDateTime.now();
 
-        return bookingRepository.findByPnr(pnr)
+        return metrics.timed("cancel", retryOnConflict("cancel", bookingTransactions.execute(() -> awaitJournaled(pnr).then(timeouts.read("findBooking", bookingRepository.findByPnr(pnr)))
                 .switchIfEmpty(Mono.error(
                         new ResourceNotFoundException("Booking not found for PNR: " + pnr)))
                 .flatMap(booking -> {
@@ -136,7 +414,9 @@ public class BookingService {
                     }
 
                     if (booking.getStatus() == BookingStatus.CANCELLED) {
-                        return Mono.error(new ResourceNotFoundException("Booking already cancelled or not found"));
+                        // a cancellation whose seat release was cut off is finished by the next attempt
+                        return releaseCancelledSeats(pnr)
+                                .then(Mono.error(new ResourceNotFoundException("Booking already cancelled or not found")));
                     }
 
 
@@ -148,18 +428,39 @@ public class BookingService {
 
                     booking.setStatus(BookingStatus.CANCELLED);
                     booking.setCancelledAt(LocalDateTime.now());
+                    booking.setSeatsReleased(false);
+
+                    // the versioned save decides between racing cancellations; the seats follow
+                    // in a separate step that is safe to repeat
+                    return timeouts.write("saveBooking", bookingRepository.save(booking));
+                })))
+                .doOnNext(cancelled -> {
+                    metrics.cancelled();
+                    ticketCache.invalidate(pnr);
+                })
+                .flatMap(cancelled -> releaseCancelledSeats(pnr)));
+    }
 
-                    return flightRepository.findById(booking.getFlightId())
-                            .switchIfEmpty(Mono.error(
-                                    new ResourceNotFoundException("Flight not found")))
-                            .flatMap(flight -> {
-                                int freedSeats = booking.getNumberOfSeats();
-                                flight.setAvailableSeats(flight.getAvailableSeats() + freedSeats);
-                                return flightRepository.save(flight)
-                                        .then(bookingRepository.save(booking))
-                                        .then();
-                            });
-                });
+    // gives the seats of a cancelled booking back at most once: the seatsReleased false -> true
+    // claim picks the single caller that may do it. It runs on even if the caller goes away, and
+    // without a timeout, since an abandoned release would only be retried if it had not claimed
+    // yet; cancellations stuck before the claim are picked up by CancelledSeatReleaseJob
+    public Mono<Void> releaseCancelledSeats(String pnr) {
+
+        return Mono.defer(() -> Mono.fromFuture(bookingRepository.claimSeatRelease(pnr)
+                        .flatMap(booking -> flightRepository.releaseSeats(booking.getFlightId(), booking.getNumberOfSeats())
+                                .flatMap(flight -> seatMapService.releaseSeats(
+                                                booking.getFlightId(), booking.getPnr(), booking.getSeatNumbers())
+                                        .thenReturn(flight)))
+                        .doOnNext(this::publishFlightChanged)
+                        .then()
+                        .toFuture(), true));
+    }
+
+    public Mono<Long> releaseStrandedCancellations(LocalDateTime cancelledBefore, int limit) {
+        return bookingRepository.findUnreleasedCancellations(cancelledBefore, limit)
+                .concatMap(booking -> releaseCancelledSeats(booking.getPnr()).thenReturn(booking))
+                .count();
     }
     
     
@@ -170,7 +471,7 @@ public class BookingService {
 
 LocalDateTime now = LocalDateTime.now();
 
-return bookingRepository.findByPnr(pnr)
+return retryOnConflict("updateMeal", awaitJournaled(pnr).then(timeouts.read("findBooking", bookingRepository.findByPnr(pnr)))
 .switchIfEmpty(Mono.error(
 new ResourceNotFoundException("Booking not found for PNR: " + pnr)))
 .flatMap(booking -> {
@@ -193,19 +494,82 @@ return Mono.error(new BusinessException(
 
 booking.setMealType(newMealType);
 
-return flightRepository.findById(booking.getFlightId())
+if (booking.getFlight() != null) {
+    return timeouts.write("saveBooking", bookingRepository.save(booking))
+            .map(this::mapToTicketResponse);
+}
+
+return timeouts.read("findFlight", flightRepository.findTicketView(booking.getFlightId()))
 .switchIfEmpty(Mono.error(
  new ResourceNotFoundException("Flight not found")))
 .flatMap(flight ->
- bookingRepository.save(booking)
+ timeouts.write("saveBooking", bookingRepository.save(booking))
          .map(saved -> mapToTicketResponse(saved, flight))
 );
-});
+}))
+.doOnNext(ticket -> ticketCache.invalidate(pnr));
 }
 
 
 
-    private TicketResponse mapToTicketResponse(Booking booking, Flight flight) {
+    // a failed write is no proof that the server did not apply it: a dropped connection or a
+    // socket timeout leaves that open. The primary is asked before anything is given back; what
+    // it has stored stands, and if it cannot be asked nothing is undone
+    private static <T> Mono<T> unlessStored(Throwable failure, Mono<T> stored, Mono<?> compensation) {
+        return stored
+                .onErrorMap(ignored -> failure)
+                .switchIfEmpty(Mono.defer(() -> quietly(compensation).then(Mono.<T>error(failure))));
+    }
+
+    // compensations must not hide the error that triggered them
+    private static Mono<Void> quietly(Mono<?> compensation) {
+        return compensation.then().onErrorResume(ignored -> Mono.empty());
+    }
+
+    private void publishFlightChanged(Flight flight) {
+        eventPublisher.publishEvent(new FlightChangedEvent(flight));
+    }
+
+    private Flux<TicketResponse> joinWithFlights(List<Booking> bookings) {
+
+        // bookings carry their flight snapshot; only ones stored before that need the flight
+        Set<String> flightIds = bookings.stream()
+                .filter(booking -> booking.getFlight() == null)
+                .map(Booking::getFlightId)
+                .collect(Collectors.toSet());
+
+        if (flightIds.isEmpty()) {
+            return Flux.fromIterable(bookings).map(this::mapToTicketResponse);
+        }
+
+        return timeouts.read("findFlights", flightRepository.findTicketViews(flightIds))
+                .collectMap(Flight::getId)
+                .flatMapMany(flightsById -> Flux.fromIterable(bookings)
+                        .filter(booking -> booking.getFlight() != null
+                                || flightsById.containsKey(booking.getFlightId()))
+                        .map(booking -> booking.getFlight() != null
+                                ? mapToTicketResponse(booking)
+                                : mapToTicketResponse(booking, flightsById.get(booking.getFlightId()))));
+    }
+
+    TicketResponse mapToTicketResponse(Booking booking) {
+
+        FlightSnapshot flight = booking.getFlight();
+
+        TicketResponse response = new TicketResponse();
+        response.setPnr(booking.getPnr());
+        response.setFlightId(booking.getFlightId());
+        response.setAirlineName(flight.getAirlineName());
+        response.setAirlineLogoUrl(flight.getAirlineLogoUrl());
+        response.setFromPlace(flight.getFromPlace());
+        response.setToPlace(flight.getToPlace());
+        response.setDepartureDate(flight.getDepartureDate());
+        response.setDepartureTime(flight.getDepartureTime());
+        response.setArrivalTime(flight.getArrivalTime());
+        return withBookingFields(response, booking);
+    }
+
+    TicketResponse mapToTicketResponse(Booking booking, Flight flight) {
 
         TicketResponse response = new TicketResponse();
         response.setPnr(booking.getPnr());
@@ -217,6 +581,10 @@ return flightRepository.findById(booking.getFlightId())
         response.setDepartureDate(flight.getDepartureDate());
         response.setDepartureTime(flight.getDepartureTime());
         response.setArrivalTime(flight.getArrivalTime());
+        return withBookingFields(response, booking);
+    }
+
+    private static TicketResponse withBookingFields(TicketResponse response, Booking booking) {
         response.setUserName(booking.getUserName());
         response.setUserEmail(booking.getUserEmail());
         response.setNumberOfSeats(booking.getNumberOfSeats());
@@ -228,4 +596,22 @@ return flightRepository.findById(booking.getFlightId())
         response.setCancelledAt(booking.getCancelledAt());
         return response;
     }
+
+    private HoldResponse mapToHoldResponse(BookingHold hold) {
+        HoldResponse response = new HoldResponse();
+        response.setHoldId(hold.getId());
+        response.setPnr(hold.getPnr());
+        response.setFlightId(hold.getFlightId());
+        response.setNumberOfSeats(hold.getNumberOfSeats());
+        response.setSeatNumbers(hold.getSeatNumbers());
+        response.setStatus(hold.getStatus());
+        response.setExpiresAt(hold.getExpiresAt());
+        return response;
+    }
+
+    private record Booked(Flight flight, Booking booking) {
+    }
+
+    private record Held(Flight flight, BookingHold hold) {
+    }
 }
@@ -0,0 +1,97 @@
+package com.flightapp.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.mongodb.MongoException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+// runs a booking or cancellation as one Mongo transaction and retries the whole unit,
+// with exponential backoff, when the server labels the failure TransientTransactionError
+@Component
+public class BookingTransactions implements MeterBinder {
+
+    private final TransactionalOperator transactionalOperator;
+    private final boolean enabled;
+    private final int maxRetries;
+    private final Duration initialBackoff;
+
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+
+    public BookingTransactions(TransactionalOperator transactionalOperator,
+                               @Value("${flightapp.booking.transactions.enabled:false}") boolean enabled,
+                               @Value("${flightapp.booking.transactions.max-retries:3}") int maxRetries,
+                               @Value("${flightapp.booking.transactions.initial-backoff:PT0.02S}") Duration initialBackoff) {
+        this.transactionalOperator = transactionalOperator;
+        this.enabled = enabled;
+        this.maxRetries = maxRetries;
+        this.initialBackoff = initialBackoff;
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> work) {
+        if (!enabled) {
+            return Mono.defer(work);
+        }
+
+        return Mono.defer(() -> {
+                    transactions.incrementAndGet();
+                    return transactionalOperator.transactional(work.get());
+                })
+                .retryWhen(Retry.backoff(maxRetries, initialBackoff)
+                        .filter(BookingTransactions::isTransient)
+                        .doBeforeRetry(signal -> retries.incrementAndGet())
+                        .onRetryExhaustedThrow((spec, signal) -> {
+                            exhausted.incrementAndGet();
+                            return signal.failure();
+                        }));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "started", transactions);
+        counter(registry, "retried", retries);
+        counter(registry, "retries_exhausted", exhausted);
+    }
+
+    private static void counter(MeterRegistry registry, String event, AtomicLong value) {
+        FunctionCounter.builder("flightapp.booking.transactions", value, AtomicLong::get)
+                .description("Booking transaction attempts by event")
+                .tag("event", event)
+                .register(registry);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", enabled);
+        body.put("transactions", transactions.get());
+        body.put("retries", retries.get());
+        body.put("retriesExhausted", exhausted.get());
+        return body;
+    }
+
+    static boolean isTransient(Throwable error) {
+        // Spring wraps driver exceptions, so look through the cause chain for the label
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+package com.flightapp.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.dto.SeatAvailability;
+import com.flightapp.model.Flight;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+// one change stream on the flights collection for the whole instance, opened while anyone is
+// watching; seat counts are read from the update description, so no full-document lookup.
+// change streams need a replica set (a single-node one is fine locally)
+@Component
+public class FlightChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightChangeFeed.class);
+
+    // server codes for a resume point that can never be reached again
+    private static final int INVALID_RESUME_TOKEN = 260;
+    private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final AtomicReference<BsonValue> resumeToken = new AtomicReference<>();
+    private final Flux<SeatAvailability> seatChanges;
+
+    public FlightChangeFeed(ReactiveMongoTemplate mongoTemplate,
+                            @Value("${flightapp.seat-stream.reconnect-backoff:PT1S}") Duration reconnectBackoff) {
+        this.mongoTemplate = mongoTemplate;
+        this.seatChanges = Flux.defer(this::listen)
+                .doOnNext(event -> resumeToken.set(event.getResumeToken()))
+                .mapNotNull(FlightChangeFeed::toSeatAvailability)
+                // reconnect where the last cursor stopped instead of missing the gap, unless
+                // that point has rolled off the oplog, in which case start again from now
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, reconnectBackoff)
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> {
+                            if (isNonResumable(signal.failure())) {
+                                resumeToken.set(null);
+                                log.warn("Flight change stream cannot resume, restarting from now: {}",
+                                        signal.failure().getMessage());
+                            } else {
+                                log.warn("Flight change stream failed, reconnecting: {}",
+                                        signal.failure().getMessage());
+                            }
+                        }))
+                // the next first watcher starts from now, not from a token that may be long gone
+                .doFinally(signal -> resumeToken.set(null))
+                .publish()
+                .refCount();
+    }
+
+    public Flux<SeatAvailability> seatChanges() {
+        return seatChanges;
+    }
+
+    private Flux<ChangeStreamEvent<Document>> listen() {
+        var stream = mongoTemplate.changeStream(Document.class)
+                .watchCollection(Flight.class)
+                .filter(new Criteria().orOperator(
+                        Criteria.where("operationType").is(OperationType.REPLACE.getValue()),
+                        Criteria.where("updateDescription.updatedFields.availableSeats").exists(true)));
+        BsonValue token = resumeToken.get();
+        return token == null ? stream.listen() : stream.resumeAfter(token).listen();
+    }
+
+    static boolean isNonResumable(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof MongoException mongoError) {
+                int code = mongoError.getCode();
+                return code == INVALID_RESUME_TOKEN
+                        || code == CHANGE_STREAM_FATAL_ERROR
+                        || code == CHANGE_STREAM_HISTORY_LOST
+                        || mongoError.hasErrorLabel("NonResumableChangeStreamError");
+            }
+        }
+        return false;
+    }
+
+    private static SeatAvailability toSeatAvailability(ChangeStreamEvent<Document> event) {
+        ChangeStreamDocument<Document> raw = event.getRaw();
+        if (raw == null || raw.getDocumentKey() == null) {
+            return null;
+        }
+        String flightId = idOf(raw.getDocumentKey().get("_id"));
+
+        if (raw.getOperationType() == OperationType.REPLACE && raw.getFullDocument() != null) {
+            Object seats = raw.getFullDocument().get("availableSeats");
+            return seats instanceof Number number ? SeatAvailability.of(flightId, number.intValue()) : null;
+        }
+
+        if (raw.getUpdateDescription() == null || raw.getUpdateDescription().getUpdatedFields() == null) {
+            return null;
+        }
+        BsonDocument updated = raw.getUpdateDescription().getUpdatedFields();
+        BsonValue seats = updated.get("availableSeats");
+        return seats != null && seats.isNumber()
+                ? SeatAvailability.of(flightId, seats.asNumber().intValue())
+                : null;
+    }
+
+    private static String idOf(BsonValue id) {
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+}
@@ -0,0 +1,7 @@
+package com.flightapp.service;
+
+import com.flightapp.model.Flight;
+
+// published after a flight is created or its seat count changes
+public record FlightChangedEvent(Flight flight) {
+}
@@ -0,0 +1,103 @@
+package com.flightapp.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.model.Flight;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import reactor.core.publisher.Mono;
+
+// search results per (route, date, trip type); concurrent misses on one key share a single load
+@Component
+public class FlightSearchCache implements MeterBinder {
+
+    private static final List<String> TRIP_TYPES = List.of("ONE_WAY", "ROUND_TRIP");
+
+    private final AsyncCache<SearchKey, List<FlightSearchResponse>> cache;
+    // (route, date) pairs invalidated within the last primary window: a secondary may not have
+    // the change yet, so reloading one of them from it would cache the old result again
+    private final Cache<RouteDate, Boolean> recentlyInvalidated;
+
+    public FlightSearchCache(@Value("${flightapp.search-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${flightapp.search-cache.ttl:PT30S}") Duration ttl,
+                             @Value("${flightapp.search-cache.primary-window:PT90S}") Duration primaryWindow) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.recentlyInvalidated = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(primaryWindow)
+                .build();
+    }
+
+    // the loader is told whether it has to read from the primary
+    public Mono<List<FlightSearchResponse>> get(String routeKey,
+                                                LocalDate travelDate,
+                                                String tripType,
+                                                Function<Boolean, Mono<List<FlightSearchResponse>>> loader) {
+
+        SearchKey key = new SearchKey(routeKey, travelDate, tripType.toUpperCase(Locale.ROOT));
+
+        // one subscriber cancelling must not cancel the load the others are waiting on
+        return Mono.fromFuture(() -> cache.get(key, (k, executor) -> loader.apply(
+                recentlyInvalidated.getIfPresent(new RouteDate(routeKey, travelDate)) != null).toFuture()), true);
+    }
+
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        invalidate(event.flight());
+    }
+
+    public void invalidate(Flight flight) {
+        if (flight.getRouteKey() == null || flight.getDepartureDate() == null) {
+            return;
+        }
+        // marked before the entries go, so the reload that follows already sees it
+        recentlyInvalidated.put(new RouteDate(flight.getRouteKey(), flight.getDepartureDate()), Boolean.TRUE);
+        TRIP_TYPES.forEach(tripType -> cache.synchronous().invalidate(
+                new SearchKey(flight.getRouteKey(), flight.getDepartureDate(), tripType)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "flightSearch");
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("size", cache.synchronous().estimatedSize());
+        body.put("hits", stats.hitCount());
+        body.put("misses", stats.missCount());
+        body.put("hitRate", stats.hitRate());
+        body.put("evictions", stats.evictionCount());
+        body.put("loadFailures", stats.loadFailureCount());
+        return body;
+    }
+
+    private record RouteDate(String routeKey, LocalDate departureDate) {
+    }
+
+    private record SearchKey(String routeKey, LocalDate travelDate, String tripType) {
+    }
+}
@@ -1,45 +1,195 @@
 package com.flightapp.service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.stereotype.Service;
 
 import com.flightapp.dto.FlightSearchRequest;
 import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.InventoryLoadResult;
 import com.flightapp.dto.InventoryRequest;
+import com.flightapp.dto.RoundTripResponse;
+import com.flightapp.dto.RoundTripSearchRequest;
 import com.flightapp.model.Flight;
+import com.flightapp.model.RouteKeys;
 import com.flightapp.repository.FlightRepository;
 import com.flightapp.exception.ResourceNotFoundException;
 import com.flightapp.exception.BusinessException;
 
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 @Service
 public class FlightService {
 
+    private static final int BULK_BATCH_SIZE = 1000;
+    private static final int MAX_ROUND_TRIP_RESULTS = 100;
+
     private final FlightRepository flightRepository;
+    private final FlightSearchCache searchCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final ServiceMetrics metrics;
+    private final MongoTimeouts timeouts;
+    private final ObjectMapper objectMapper;
 
-    public FlightService(FlightRepository flightRepository) {
+    public FlightService(FlightRepository flightRepository,
+                         FlightSearchCache searchCache,
+                         ApplicationEventPublisher eventPublisher,
+                         Validator validator,
+                         ServiceMetrics metrics,
+                         MongoTimeouts timeouts,
+                         ObjectMapper objectMapper) {
         this.flightRepository = flightRepository;
+        this.searchCache = searchCache;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.metrics = metrics;
+        this.timeouts = timeouts;
+        this.objectMapper = objectMapper;
     }
 
     public Mono<Flight> addInventory(InventoryRequest request) {
 
-    	if (request.getFromPlace().equalsIgnoreCase(request.getToPlace())) {
-            return Mono.error(new BusinessException("From and To place cannot be same"));
+        String error = validateInventory(request);
+        if (error != null) {
+            return Mono.error(new BusinessException(error));
+        }
+
+        return timeouts.write("saveFlight", flightRepository.save(toFlight(request)))
+                .doOnNext(saved -> eventPublisher.publishEvent(new FlightChangedEvent(saved)));
+    }
+
+    // NDJSON schedule load: each line is checked like addInventory, valid lines are written in
+    // unordered bulk batches, and one result per line is streamed back as each batch completes.
+    // Lines are parsed here rather than by the codec, so a malformed line fails on its own
+    public Flux<InventoryLoadResult> bulkAddInventory(Flux<String> lines) {
+        return lines
+                .index()
+                .filter(line -> !line.getT2().isBlank())
+                .buffer(BULK_BATCH_SIZE)
+                .concatMap(this::insertBatch);
+    }
+
+    private Flux<InventoryLoadResult> insertBatch(List<Tuple2<Long, String>> batch) {
+
+        List<InventoryLoadResult> results = new ArrayList<>(batch.size());
+        List<InventoryLoadResult> pending = new ArrayList<>(batch.size());
+        List<Flight> flights = new ArrayList<>(batch.size());
+
+        for (Tuple2<Long, String> line : batch) {
+            long lineNumber = line.getT1() + 1;
+
+            InventoryRequest request;
+            try {
+                request = objectMapper.readValue(line.getT2(), InventoryRequest.class);
+            } catch (JsonProcessingException e) {
+                results.add(InventoryLoadResult.failed(lineNumber, "Malformed JSON: " + e.getOriginalMessage()));
+                continue;
+            }
+
+            String error = validateConstraints(request);
+            if (error == null) {
+                error = validateInventory(request);
+            }
+            if (error != null) {
+                results.add(InventoryLoadResult.failed(lineNumber, error));
+                continue;
+            }
+
+            // ids are assigned up front so each line can report its id without a read-back
+            Flight flight = toFlight(request);
+            flight.setId(new ObjectId().toHexString());
+            flights.add(flight);
+
+            InventoryLoadResult result = InventoryLoadResult.created(lineNumber, flight.getId());
+            results.add(result);
+            pending.add(result);
+        }
+
+        if (flights.isEmpty()) {
+            return Flux.fromIterable(results);
+        }
+
+        return timeouts.write("insertFlights", flightRepository.insertUnordered(flights))
+                .doOnNext(inserted -> flights.forEach(
+                        flight -> eventPublisher.publishEvent(new FlightChangedEvent(flight))))
+                .onErrorResume(e -> {
+                    Set<Integer> failedIndexes = failedBulkIndexes(e);
+                    for (int i = 0; i < pending.size(); i++) {
+                        if (failedIndexes == null || failedIndexes.contains(i)) {
+                            pending.get(i).fail(e.getMessage());
+                        }
+                    }
+                    return Mono.empty();
+                })
+                .thenMany(Flux.fromIterable(results));
+    }
+
+    // indexes of the rejected writes, or null if the whole batch has to be treated as failed
+    private Set<Integer> failedBulkIndexes(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof MongoBulkWriteException bulkError) {
+                return bulkError.getWriteErrors().stream()
+                        .map(BulkWriteError::getIndex)
+                        .collect(Collectors.toSet());
+            }
+            if (e instanceof BulkOperationException bulkError) {
+                return bulkError.getErrors().stream()
+                        .map(BulkWriteError::getIndex)
+                        .collect(Collectors.toSet());
+            }
+        }
+        return null;
+    }
+
+    private String validateConstraints(InventoryRequest request) {
+        Set<ConstraintViolation<InventoryRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private String validateInventory(InventoryRequest request) {
+
+        if (request.getFromPlace().equalsIgnoreCase(request.getToPlace())) {
+            return "From and To place cannot be same";
         }
 
         if (request.isRoundTripAvailable() && request.getRoundTripPrice() == null) {
-            return Mono.error(new BusinessException("Round trip price is required when round trip is available"));
+            return "Round trip price is required when round trip is available";
         }
 
         // arrival after departure (same day assumption)
         if (request.getArrivalTime().isBefore(request.getDepartureTime())) {
-            return Mono.error(new BusinessException("Arrival time cannot be before departure time"));
+            return "Arrival time cannot be before departure time";
         }
-    	
-    	
-    	
+
+        return null;
+    }
+
+    private Flight toFlight(InventoryRequest request) {
         Flight flight = new Flight();
         flight.setAirlineName(request.getAirlineName());
         flight.setAirlineLogoUrl(request.getAirlineLogoUrl());
@@ -53,8 +203,8 @@ public class FlightService {
         flight.setRoundTripAvailable(request.isRoundTripAvailable());
         flight.setTotalSeats(request.getTotalSeats());
         flight.setAvailableSeats(request.getTotalSeats());
-
-        return flightRepository.save(flight);
+        RouteKeys.apply(flight);
+        return flight;
     }
 
 
@@ -70,47 +220,84 @@ public class FlightService {
             return Flux.error(new BusinessException("Trip type must be ONE_WAY or ROUND_TRIP"));
         }
 
-        Flux<Flight> flights = flightRepository
-                .findByFromPlaceIgnoreCaseAndToPlaceIgnoreCaseAndDepartureDate(
-                        request.getFromPlace(),
-                        request.getToPlace(),
-                        request.getTravelDate()
-                );
+        return metrics.timed("search", cachedSearch(
+                        request.getFromPlace(), request.getToPlace(), request.getTravelDate(), tripType))
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    // outbound and return legs are loaded in parallel, then paired cheapest-first and streamed
+    // lazily, so the first pairs go out without materializing the cross product. Both legs are
+    // round-trip flights priced at their round trip fare
+    public Flux<RoundTripResponse> searchRoundTrips(RoundTripSearchRequest request, int limit) {
+
+        if (request.getFromPlace().equalsIgnoreCase(request.getToPlace())) {
+            return Flux.error(new BusinessException("From and To place cannot be same"));
+        }
+
+        if (request.getReturnDate() == null) {
+            return Flux.error(new BusinessException("Return date is required for a round trip search"));
+        }
+
+        if (request.getReturnDate().isBefore(request.getTravelDate())) {
+            return Flux.error(new BusinessException("Return date cannot be before travel date"));
+        }
 
-        if ("ROUND_TRIP".equalsIgnoreCase(tripType)) {
-            flights = flights.filter(Flight::isRoundTripAvailable);
+        if (limit < 1 || limit > MAX_ROUND_TRIP_RESULTS) {
+            return Flux.error(new BusinessException(
+                    "Limit must be between 1 and " + MAX_ROUND_TRIP_RESULTS));
         }
 
-        return flights.map(this::mapToSearchResponse);
+        Mono<List<FlightSearchResponse>> outbound = cachedSearch(
+                request.getFromPlace(), request.getToPlace(), request.getTravelDate(), "ROUND_TRIP");
+        Mono<List<FlightSearchResponse>> inbound = cachedSearch(
+                request.getToPlace(), request.getFromPlace(), request.getReturnDate(), "ROUND_TRIP");
+
+        return metrics.timed("search-round-trip", Mono.zip(outbound, inbound))
+                .flatMapMany(legs -> RoundTripPairing.cheapestFirst(legs.getT1(), legs.getT2()))
+                .take(limit);
     }
 
-    
-    public Flux<String> searchFlightIds(FlightSearchRequest request) {
+    private Mono<List<FlightSearchResponse>> cachedSearch(String fromPlace,
+                                                          String toPlace,
+                                                          LocalDate travelDate,
+                                                          String tripType) {
 
-        Flux<Flight> flights = flightRepository
-                .findByFromPlaceIgnoreCaseAndToPlaceIgnoreCaseAndDepartureDate(
-                        request.getFromPlace(),
-                        request.getToPlace(),
-                        request.getTravelDate()
-                );
+        String routeKey = RouteKeys.routeKey(fromPlace, toPlace);
+
+        return searchCache.get(routeKey, travelDate, tripType, fromPrimary -> {
+
+            Flux<Flight> flights = timeouts.read("searchFlights",
+                    flightRepository.findForSearch(routeKey, travelDate, fromPrimary));
 
-        String tripType = request.getTripType();
-        if (tripType != null && !tripType.isBlank()) {
             if ("ROUND_TRIP".equalsIgnoreCase(tripType)) {
                 flights = flights.filter(Flight::isRoundTripAvailable);
             }
-            // for ONE_WAY, no extra filter needed
-        }
 
-        return flights
-                .switchIfEmpty(Flux.error(new ResourceNotFoundException(
-                        "No flights found for given search criteria")))
-                .map(Flight::getId);
+            return flights.map(FlightService::mapToSearchResponse).collectList();
+        });
+    }
+
+    public Map<String, Object> searchCacheStats() {
+        return searchCache.stats();
     }
 
     
+    public Flux<String> searchFlightIds(FlightSearchRequest request) {
+
+        // ids only, with the round-trip filter pushed into the query, instead of whole flights
+        boolean roundTripOnly = "ROUND_TRIP".equalsIgnoreCase(request.getTripType());
+
+        return timeouts.read("searchFlightIds", flightRepository
+                        .findIdsForSearch(
+                                RouteKeys.routeKey(request.getFromPlace(), request.getToPlace()),
+                                request.getTravelDate(),
+                                roundTripOnly
+                        ))
+                .switchIfEmpty(Flux.error(new ResourceNotFoundException(
+                        "No flights found for given search criteria")));
+    }
 
-    private FlightSearchResponse mapToSearchResponse(Flight flight) {
+    public static FlightSearchResponse mapToSearchResponse(Flight flight) {
         FlightSearchResponse response = new FlightSearchResponse();
         response.setFlightId(flight.getId());
         response.setAirlineName(flight.getAirlineName());
@@ -0,0 +1,38 @@
+package com.flightapp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.flightapp.exception.BusinessException;
+import com.flightapp.model.Booking;
+
+// (bookedAt, id) of the last booking on a page, encoded as url-safe base64 "bookedAt|id"
+record HistoryCursor(LocalDateTime bookedAt, String id) {
+
+    static HistoryCursor of(Booking booking) {
+        return new HistoryCursor(booking.getBookedAt(), booking.getId());
+    }
+
+    static HistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new BusinessException("Invalid history cursor");
+            }
+            return new HistoryCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Invalid history cursor");
+        }
+    }
+
+    String encode() {
+        String raw = bookedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,155 @@
+package com.flightapp.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import reactor.core.publisher.Mono;
+
+// in-memory route graph per departure date: loaded with one query the first time a date is
+// searched, then kept current from FlightChangedEvent. Events only cover this instance's own
+// writes, so a graph is also rebuilt from Mongo once it reaches max-age, however busy it is
+@Component
+public class ItineraryIndex {
+
+    private final FlightRepository flightRepository;
+    private final Cache<LocalDate, DateGraph> graphs;
+
+    public ItineraryIndex(FlightRepository flightRepository,
+                          @Value("${flightapp.itinerary.max-dates:60}") long maxDates,
+                          @Value("${flightapp.itinerary.max-age:PT5M}") Duration maxAge) {
+        this.flightRepository = flightRepository;
+        this.graphs = Caffeine.newBuilder()
+                .maximumSize(maxDates)
+                .expireAfterWrite(maxAge)
+                .build();
+    }
+
+    public Mono<DateGraph> graphFor(LocalDate date) {
+        DateGraph graph = graphs.get(date, DateGraph::new);
+        return graph.load(flightRepository)
+                .doOnError(e -> graphs.asMap().remove(date, graph));
+    }
+
+    @EventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        Flight flight = event.flight();
+        if (flight.getDepartureDate() == null) {
+            return;
+        }
+        // dates nobody has searched yet are not built; they are loaded fresh on first use
+        DateGraph graph = graphs.getIfPresent(flight.getDepartureDate());
+        if (graph != null) {
+            graph.upsert(flight);
+        }
+    }
+
+    public static final class DateGraph {
+
+        private static final Comparator<Flight> BY_DEPARTURE = Comparator.comparing(Flight::getDepartureTime);
+
+        private final LocalDate date;
+        // flights are never mutated once indexed: a change replaces the whole node, so readers
+        // on other threads see either the old or the new copy through the map
+        private final Map<String, Flight> byId = new ConcurrentHashMap<>();
+        // origin place key -> departures sorted by time; lists are replaced, never mutated
+        private final Map<String, List<Flight>> byOrigin = new ConcurrentHashMap<>();
+        private final AtomicReference<Mono<DateGraph>> loading = new AtomicReference<>();
+
+        DateGraph(LocalDate date) {
+            this.date = date;
+        }
+
+        public LocalDate date() {
+            return date;
+        }
+
+        public List<Flight> departuresFrom(String placeKey) {
+            return byOrigin.getOrDefault(placeKey, List.of());
+        }
+
+        Mono<DateGraph> load(FlightRepository flightRepository) {
+            Mono<DateGraph> current = loading.get();
+            if (current != null) {
+                return current;
+            }
+            Mono<DateGraph> created = flightRepository.findByDepartureDate(date)
+                    .doOnNext(this::putIfAbsent)
+                    .then(Mono.just(this))
+                    .cache();
+            return loading.compareAndSet(null, created) ? created : loading.get();
+        }
+
+        void upsert(Flight flight) {
+            if (!indexable(flight)) {
+                // seat changes arrive as a projected flight (FlightFields.TICKET): keep the
+                // indexed copy and only take over the new seat count
+                if (flight.getId() == null) {
+                    return;
+                }
+                Flight replaced = byId.computeIfPresent(flight.getId(),
+                        (id, existing) -> withSeats(existing, flight.getAvailableSeats()));
+                if (replaced != null) {
+                    relink(replaced);
+                }
+                return;
+            }
+            byId.put(flight.getId(), flight);
+            relink(flight);
+        }
+
+        // loaded rows never overwrite a newer copy that arrived through an event meanwhile
+        private void putIfAbsent(Flight flight) {
+            if (indexable(flight) && byId.putIfAbsent(flight.getId(), flight) == null) {
+                relink(flight);
+            }
+        }
+
+        private void relink(Flight flight) {
+            String id = flight.getId();
+            byOrigin.compute(flight.getFromKey(), (origin, departures) -> {
+                // re-read inside compute so racing writers settle on the latest copy
+                Flight latest = byId.get(id);
+                List<Flight> updated = new ArrayList<>(departures == null ? 0 : departures.size() + 1);
+                if (departures != null) {
+                    departures.stream()
+                            .filter(existing -> !existing.getId().equals(id))
+                            .forEach(updated::add);
+                }
+                updated.add(latest);
+                updated.sort(BY_DEPARTURE);
+                return List.copyOf(updated);
+            });
+        }
+
+        private static Flight withSeats(Flight flight, int availableSeats) {
+            Flight copy = new Flight();
+            BeanUtils.copyProperties(flight, copy);
+            copy.setAvailableSeats(availableSeats);
+            return copy;
+        }
+
+        private boolean indexable(Flight flight) {
+            return flight.getId() != null
+                    && flight.getFromKey() != null
+                    && flight.getToKey() != null
+                    && flight.getDepartureTime() != null
+                    && flight.getArrivalTime() != null;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.flightapp.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.ItineraryResponse;
+import com.flightapp.dto.ItinerarySearchRequest;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.model.Flight;
+import com.flightapp.model.RouteKeys;
+import com.flightapp.service.ItineraryIndex.DateGraph;
+
+import reactor.core.publisher.Flux;
+
+@Service
+public class ItineraryService {
+
+    private static final Comparator<Candidate> BY_PRICE = Comparator
+            .comparing(Candidate::price)
+            .thenComparing(Candidate::duration);
+
+    private static final Comparator<Candidate> BY_DURATION = Comparator
+            .comparing(Candidate::duration)
+            .thenComparing(Candidate::price);
+
+    private final ItineraryIndex itineraryIndex;
+
+    public ItineraryService(ItineraryIndex itineraryIndex) {
+        this.itineraryIndex = itineraryIndex;
+    }
+
+    public Flux<ItineraryResponse> searchItineraries(ItinerarySearchRequest request) {
+
+        if (request.getFromPlace().equalsIgnoreCase(request.getToPlace())) {
+            return Flux.error(new BusinessException("From and To place cannot be same"));
+        }
+
+        String sortBy = request.getSortBy().toUpperCase(Locale.ROOT);
+        if (!"PRICE".equals(sortBy) && !"DURATION".equals(sortBy)) {
+            return Flux.error(new BusinessException("Sort by must be PRICE or DURATION"));
+        }
+
+        if (request.getMinLayoverMinutes() > request.getMaxLayoverMinutes()) {
+            return Flux.error(new BusinessException("Minimum layover cannot exceed maximum layover"));
+        }
+
+        LocalDate travelDate = request.getTravelDate();
+
+        // every leg lands on its departure day and a layover is at most 24h,
+        // so each stop can push the next departure at most one day later
+        return Flux.range(0, request.getMaxStops() + 1)
+                .flatMapSequential(offset -> itineraryIndex.graphFor(travelDate.plusDays(offset)))
+                .collectMap(DateGraph::date)
+                .flatMapIterable(graphs -> {
+                    Search search = new Search(
+                            graphs,
+                            RouteKeys.placeKey(request.getToPlace()),
+                            request.getMaxStops(),
+                            Duration.ofMinutes(request.getMinLayoverMinutes()),
+                            Duration.ofMinutes(request.getMaxLayoverMinutes()),
+                            request.getLimit(),
+                            "PRICE".equals(sortBy) ? BY_PRICE : BY_DURATION);
+                    return search.run(travelDate, RouteKeys.placeKey(request.getFromPlace()));
+                })
+                .map(this::mapToItineraryResponse);
+    }
+
+    private ItineraryResponse mapToItineraryResponse(Candidate candidate) {
+        List<FlightSearchResponse> legs = candidate.legs().stream()
+                .map(FlightService::mapToSearchResponse)
+                .toList();
+
+        ItineraryResponse response = new ItineraryResponse();
+        response.setLegs(legs);
+        response.setStops(legs.size() - 1);
+        response.setTotalPrice(candidate.price());
+        response.setTotalDurationMinutes(candidate.duration().toMinutes());
+        response.setDepartureDateTime(departureOf(candidate.legs().get(0)));
+        response.setArrivalDateTime(arrivalOf(candidate.legs().get(candidate.legs().size() - 1)));
+        return response;
+    }
+
+    private static LocalDateTime departureOf(Flight flight) {
+        return LocalDateTime.of(flight.getDepartureDate(), flight.getDepartureTime());
+    }
+
+    // same-day arrival, as enforced by addInventory
+    private static LocalDateTime arrivalOf(Flight flight) {
+        return LocalDateTime.of(flight.getDepartureDate(), flight.getArrivalTime());
+    }
+
+    private record Candidate(List<Flight> legs, BigDecimal price, Duration duration) {
+
+        static Candidate of(List<Flight> legs) {
+            BigDecimal price = legs.stream()
+                    .map(Flight::getOneWayPrice)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            Duration duration = Duration.between(
+                    departureOf(legs.get(0)), arrivalOf(legs.get(legs.size() - 1)));
+            return new Candidate(legs, price, duration);
+        }
+    }
+
+    // depth-first walk over the loaded graphs, keeping only the best `limit` itineraries
+    private static final class Search {
+
+        private final Map<LocalDate, DateGraph> graphs;
+        private final String destinationKey;
+        private final int maxStops;
+        private final Duration minLayover;
+        private final Duration maxLayover;
+        private final int limit;
+        private final Comparator<Candidate> order;
+        // worst kept candidate on top, so it is the one dropped when a better one arrives
+        private final PriorityQueue<Candidate> best;
+
+        Search(Map<LocalDate, DateGraph> graphs, String destinationKey, int maxStops,
+               Duration minLayover, Duration maxLayover, int limit, Comparator<Candidate> order) {
+            this.graphs = graphs;
+            this.destinationKey = destinationKey;
+            this.maxStops = maxStops;
+            this.minLayover = minLayover;
+            this.maxLayover = maxLayover;
+            this.limit = limit;
+            this.order = order;
+            this.best = new PriorityQueue<>(limit + 1, order.reversed());
+        }
+
+        List<Candidate> run(LocalDate travelDate, String originKey) {
+            DateGraph first = graphs.get(travelDate);
+            if (first != null) {
+                Deque<Flight> path = new ArrayDeque<>();
+                Set<String> visited = new HashSet<>();
+                visited.add(originKey);
+                for (Flight flight : first.departuresFrom(originKey)) {
+                    visit(flight, path, visited);
+                }
+            }
+            List<Candidate> sorted = new ArrayList<>(best);
+            sorted.sort(order);
+            return sorted;
+        }
+
+        private void visit(Flight flight, Deque<Flight> path, Set<String> visited) {
+            if (flight.getAvailableSeats() <= 0 || visited.contains(flight.getToKey())) {
+                return;
+            }
+            path.addLast(flight);
+            visited.add(flight.getToKey());
+            extend(path, visited);
+            visited.remove(flight.getToKey());
+            path.removeLast();
+        }
+
+        private void extend(Deque<Flight> path, Set<String> visited) {
+            Flight last = path.peekLast();
+
+            if (destinationKey.equals(last.getToKey())) {
+                offer(Candidate.of(List.copyOf(path)));
+                return;
+            }
+            if (path.size() > maxStops) {
+                return;
+            }
+
+            LocalDateTime arrival = arrivalOf(last);
+            LocalDateTime earliest = arrival.plus(minLayover);
+            LocalDateTime latest = arrival.plus(maxLayover);
+
+            for (LocalDate day = earliest.toLocalDate(); !day.isAfter(latest.toLocalDate()); day = day.plusDays(1)) {
+                DateGraph graph = graphs.get(day);
+                if (graph == null) {
+                    continue;
+                }
+                for (Flight next : graph.departuresFrom(last.getToKey())) {
+                    LocalDateTime departure = departureOf(next);
+                    if (departure.isAfter(latest)) {
+                        break; // departures are sorted by time
+                    }
+                    if (!departure.isBefore(earliest)) {
+                        visit(next, path, visited);
+                    }
+                }
+            }
+        }
+
+        private void offer(Candidate candidate) {
+            if (best.size() < limit) {
+                best.add(candidate);
+            } else if (order.compare(candidate, best.peek()) < 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
+    }
+}
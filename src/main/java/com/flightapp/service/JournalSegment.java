@@ -0,0 +1,167 @@
+package com.flightapp.service;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+// one fixed-size, memory-mapped file of the booking journal. Layout: a 16 byte header
+// (magic, version, drained offset) and then entries of [length][crc32c][payload]; a zero
+// length or a bad checksum marks the end, so a write torn by a crash is simply not replayed
+final class JournalSegment {
+
+    static final int HEADER_SIZE = 16;
+    static final int ENTRY_OVERHEAD = 8;
+
+    private static final int MAGIC = 0x464A524E;
+    private static final int VERSION = 1;
+    private static final int DRAINED_OFFSET = 8;
+
+    private final long sequence;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+
+    // written only by the journal's writer thread
+    private int writePosition;
+
+    private volatile boolean sealed;
+
+    private JournalSegment(long sequence, Path path, MappedByteBuffer buffer, int writePosition) {
+        this.sequence = sequence;
+        this.path = path;
+        this.buffer = buffer;
+        this.writePosition = writePosition;
+    }
+
+    static JournalSegment create(Path directory, long sequence, int size) throws IOException {
+        Path path = directory.resolve(fileName(sequence));
+        MappedByteBuffer buffer = map(path, size);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(DRAINED_OFFSET, HEADER_SIZE);
+        buffer.force(0, HEADER_SIZE);
+        return new JournalSegment(sequence, path, buffer, HEADER_SIZE);
+    }
+
+    // maps an existing segment and returns the payloads not yet drained, in write order
+    static JournalSegment open(Path path, long sequence, List<Replayed> replayed) throws IOException {
+        MappedByteBuffer buffer = map(path, (int) Files.size(path));
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a booking journal segment: " + path);
+        }
+
+        JournalSegment segment = new JournalSegment(sequence, path, buffer, HEADER_SIZE);
+        int position = HEADER_SIZE;
+        int drained = buffer.getInt(DRAINED_OFFSET);
+
+        while (position + ENTRY_OVERHEAD <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + ENTRY_OVERHEAD + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + ENTRY_OVERHEAD, payload);
+            if (checksum(payload) != buffer.getInt(position + 4)) {
+                break;
+            }
+            position += ENTRY_OVERHEAD + length;
+            if (position > drained) {
+                replayed.add(new Replayed(payload, position));
+            }
+        }
+
+        segment.writePosition = position;
+        return segment;
+    }
+
+    // false when the entry does not fit; the caller rolls to a new segment
+    boolean append(byte[] payload) {
+        if (writePosition + ENTRY_OVERHEAD + payload.length > buffer.capacity()) {
+            return false;
+        }
+        buffer.put(writePosition + ENTRY_OVERHEAD, payload);
+        buffer.putInt(writePosition + 4, checksum(payload));
+        buffer.putInt(writePosition, payload.length);
+        writePosition += ENTRY_OVERHEAD + payload.length;
+        return true;
+    }
+
+    // drops everything from position on, so a failed group commit is not replayed later
+    void truncate(int position) {
+        buffer.putInt(position, 0);
+        buffer.force(position, 4);
+        writePosition = position;
+    }
+
+    // one msync for everything appended since the previous force: the group commit
+    void force(int from) {
+        if (writePosition > from) {
+            buffer.force(from, writePosition - from);
+        }
+    }
+
+    // the drained offset is not forced; if it is lost, replay re-inserts entries that are
+    // already in Mongo and the drainer skips them
+    void markDrained(int position) {
+        buffer.putInt(DRAINED_OFFSET, position);
+    }
+
+    boolean fullyDrained(int position) {
+        return sealed && position >= writePosition;
+    }
+
+    void seal() {
+        sealed = true;
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    int writePosition() {
+        return writePosition;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    static String fileName(long sequence) {
+        return String.format("bookings-%019d.journal", sequence);
+    }
+
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring("bookings-".length(), name.length() - ".journal".length()));
+    }
+
+    static List<Path> list(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (var files = Files.newDirectoryStream(directory, "bookings-*.journal")) {
+            files.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static MappedByteBuffer map(Path path, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    record Replayed(byte[] payload, int end) {
+    }
+}
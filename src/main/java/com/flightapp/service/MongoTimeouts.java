@@ -0,0 +1,51 @@
+package com.flightapp.service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.exception.ServiceUnavailableException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// caps each repository call so a slow or saturated database turns into a quick 503
+// instead of requests piling up behind the pool; for a Flux the cap is per element.
+// A write that is compensated on failure (seat counts, seat claims, new bookings and holds)
+// is left to the driver's socket and server selection limits instead: a cap only stops the
+// client waiting, the server may still apply the write after the seats were given back
+@Component
+public class MongoTimeouts {
+
+    private final Duration read;
+    private final Duration write;
+
+    public MongoTimeouts(@Value("${flightapp.mongo.timeouts.read:PT2S}") Duration read,
+                         @Value("${flightapp.mongo.timeouts.write:PT5S}") Duration write) {
+        this.read = read;
+        this.write = write;
+    }
+
+    public <T> Mono<T> read(String operation, Mono<T> call) {
+        return call.timeout(read).onErrorMap(TimeoutException.class, e -> timedOut(operation, read, e));
+    }
+
+    public <T> Flux<T> read(String operation, Flux<T> call) {
+        return call.timeout(read).onErrorMap(TimeoutException.class, e -> timedOut(operation, read, e));
+    }
+
+    public <T> Mono<T> write(String operation, Mono<T> call) {
+        return call.timeout(write).onErrorMap(TimeoutException.class, e -> timedOut(operation, write, e));
+    }
+
+    public <T> Flux<T> write(String operation, Flux<T> call) {
+        return call.timeout(write).onErrorMap(TimeoutException.class, e -> timedOut(operation, write, e));
+    }
+
+    private static ServiceUnavailableException timedOut(String operation, Duration limit, Throwable cause) {
+        return new ServiceUnavailableException(
+                "Database did not answer " + operation + " within " + limit.toMillis() + " ms", cause);
+    }
+}
@@ -1,23 +1,144 @@
 package com.flightapp.service;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+// PNRs are a 60-bit id written as 12 base-32 characters:
+//   32 bits seconds since 2024-01-01 | 10 bits node id | 18 bits sequence
+// ids are monotonic per node and distinct across nodes, so no lookup is needed before insert
 @Component
 public class PnrGenerator {
 
+    private static final Logger log = LoggerFactory.getLogger(PnrGenerator.class);
+
+    // Crockford base32: no I, L, O or U, so codes survive being read out over the phone
+    public static final String DEFAULT_ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    static final int PNR_LENGTH = 12;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 18;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long EPOCH_SECONDS = 1_704_067_200L; // 2024-01-01T00:00:00Z
+
+    // StatefulSet pods are named <set>-<ordinal>, which is unique for as long as the pod runs
+    private static final Pattern ORDINAL_HOSTNAME = Pattern.compile(".*-(\\d+)$");
+
+    private final long nodeId;
+    private final char[] alphabet;
+
+    // (seconds << SEQUENCE_BITS) | sequence of the last id handed out; when a second's
+    // sequence runs out the counter simply carries into the next second
+    private final AtomicLong lastTick;
+
+    // without a configured node id, the StatefulSet ordinal of the host is used; anything else
+    // fails startup rather than risk two instances sharing a node id and handing out the same PNRs
+    @Autowired
+    public PnrGenerator(@Value("${flightapp.pnr.node-id:}") String nodeId,
+                        @Value("${flightapp.pnr.alphabet:" + DEFAULT_ALPHABET + "}") String alphabet) {
+        this(resolveNodeId(nodeId, hostname()), alphabet);
+    }
+
+    public PnrGenerator(long nodeId, String alphabet) {
+
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("PNR node id must be between 0 and " + MAX_NODE_ID);
+        }
+        if (alphabet.length() != 32 || alphabet.chars().distinct().count() != 32) {
+            throw new IllegalArgumentException("PNR alphabet must have exactly 32 distinct characters");
+        }
+
+        this.nodeId = nodeId;
+        this.alphabet = alphabet.toCharArray();
+        this.lastTick = new AtomicLong((awaitNextSecond() << SEQUENCE_BITS) - 1);
+    }
+
+    static long resolveNodeId(String configured, String hostname) {
+        if (configured != null && !configured.isBlank()) {
+            return Long.parseLong(configured.trim());
+        }
+        if (hostname == null || hostname.isBlank()) {
+            throw new IllegalStateException(
+                    "flightapp.pnr.node-id is not set and the host name is unknown; set a node id unique per instance");
+        }
+
+        Matcher ordinal = ORDINAL_HOSTNAME.matcher(hostname);
+        if (ordinal.matches() && ordinal.group(1).length() <= 4 && Long.parseLong(ordinal.group(1)) <= MAX_NODE_ID) {
+            long nodeId = Long.parseLong(ordinal.group(1));
+            log.info("PNR node id {} taken from the ordinal of host {}", nodeId, hostname);
+            return nodeId;
+        }
+
+        throw new IllegalStateException("flightapp.pnr.node-id is not set and host " + hostname
+                + " has no StatefulSet ordinal (0-" + MAX_NODE_ID + "); set a node id unique per instance");
+    }
+
+    private static String hostname() {
+        String hostname = System.getenv("HOSTNAME");
+        if (hostname != null && !hostname.isBlank()) {
+            return hostname;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
     public String generatePnr() {
-        String uuidPart = UUID.randomUUID().toString()
-                .replace("-", "")
-                .substring(0, 6)
-                .toUpperCase();
+        return encode(nextId());
+    }
+
+    long nextId() {
+        long now = currentSecond() << SEQUENCE_BITS;
+        long tick;
+        while (true) {
+            long last = lastTick.get();
+            tick = Math.max(last + 1, now);
+            if (lastTick.compareAndSet(last, tick)) {
+                break;
+            }
+        }
+        long seconds = tick >>> SEQUENCE_BITS;
+        long sequence = tick & ((1L << SEQUENCE_BITS) - 1);
+        return (seconds << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
 
-        String timePart = LocalDateTime.now()
-                .format(DateTimeFormatter.ofPattern("ddHHmm"));
+    // a previous run of this node only handed out ids of seconds up to the one it went down in
+    // (unless it carried ahead at over 262k PNRs a second), so starting in the next second keeps
+    // a quick restart from reusing that second's sequence numbers; it costs up to a second of startup
+    private static long awaitNextSecond() {
+        long started = currentSecond();
+        while (currentSecond() == started) {
+            try {
+                Thread.sleep(1000 - System.currentTimeMillis() % 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to start PNR generation", e);
+            }
+        }
+        return currentSecond();
+    }
+
+    private static long currentSecond() {
+        return System.currentTimeMillis() / 1000 - EPOCH_SECONDS;
+    }
 
-        return uuidPart + timePart;
+    String encode(long id) {
+        char[] chars = new char[PNR_LENGTH];
+        for (int i = PNR_LENGTH - 1; i >= 0; i--) {
+            chars[i] = alphabet[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
     }
 }
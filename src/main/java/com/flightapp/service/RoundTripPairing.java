@@ -0,0 +1,106 @@
+package com.flightapp.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.RoundTripResponse;
+
+import reactor.core.publisher.Flux;
+
+// k-cheapest pairs of two fare-sorted lists: a frontier heap starts at (0, 0) and each
+// popped pair (i, j) pushes (i + 1, j) and (i, j + 1), so pairs come out in price order
+// and only about k + frontier pairs are ever looked at for the first k results
+final class RoundTripPairing {
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private RoundTripPairing() {
+    }
+
+    static Flux<RoundTripResponse> cheapestFirst(List<FlightSearchResponse> outbound,
+                                                 List<FlightSearchResponse> inbound) {
+        List<FlightSearchResponse> out = priced(outbound);
+        List<FlightSearchResponse> in = priced(inbound);
+        if (out.isEmpty() || in.isEmpty()) {
+            return Flux.empty();
+        }
+
+        return Flux.generate(() -> new Frontier(out, in), (frontier, sink) -> {
+            RoundTripResponse next = frontier.next();
+            if (next == null) {
+                sink.complete();
+            } else {
+                sink.next(next);
+            }
+            return frontier;
+        });
+    }
+
+    // roundTripPrice is a flight's fare for a whole round trip, so each leg brings half of its
+    // own and a pair costs the mean of the two: two legs of one flight at 9000 make 9000, not
+    // 18000. A flight that does not offer a round trip fare cannot be part of a pair
+    static BigDecimal fare(FlightSearchResponse flight) {
+        return flight.getRoundTripPrice().divide(TWO);
+    }
+
+    private static List<FlightSearchResponse> priced(List<FlightSearchResponse> flights) {
+        return flights.stream()
+                .filter(flight -> flight.isRoundTripAvailable() && flight.getRoundTripPrice() != null)
+                .sorted(Comparator.comparing(RoundTripPairing::fare))
+                .toList();
+    }
+
+    private static final class Frontier {
+
+        private final List<FlightSearchResponse> out;
+        private final List<FlightSearchResponse> in;
+        private final PriorityQueue<int[]> heap;
+        private final Set<Long> seen = new HashSet<>();
+
+        Frontier(List<FlightSearchResponse> out, List<FlightSearchResponse> in) {
+            this.out = out;
+            this.in = in;
+            this.heap = new PriorityQueue<>(Comparator.comparing(
+                    (int[] pair) -> fare(out.get(pair[0])).add(fare(in.get(pair[1])))));
+            push(0, 0);
+        }
+
+        RoundTripResponse next() {
+            while (!heap.isEmpty()) {
+                int[] pair = heap.poll();
+                push(pair[0] + 1, pair[1]);
+                push(pair[0], pair[1] + 1);
+
+                FlightSearchResponse outbound = out.get(pair[0]);
+                FlightSearchResponse inbound = in.get(pair[1]);
+                if (connects(outbound, inbound)) {
+                    RoundTripResponse response = new RoundTripResponse();
+                    response.setOutbound(outbound);
+                    response.setInbound(inbound);
+                    response.setTotalPrice(fare(outbound).add(fare(inbound)));
+                    return response;
+                }
+            }
+            return null;
+        }
+
+        private void push(int i, int j) {
+            if (i < out.size() && j < in.size() && seen.add((long) i * in.size() + j)) {
+                heap.add(new int[] {i, j});
+            }
+        }
+
+        // a same-day return has to leave after the outbound flight lands
+        private boolean connects(FlightSearchResponse outbound, FlightSearchResponse inbound) {
+            LocalDateTime landed = LocalDateTime.of(outbound.getDepartureDate(), outbound.getArrivalTime());
+            LocalDateTime leaves = LocalDateTime.of(inbound.getDepartureDate(), inbound.getDepartureTime());
+            return !leaves.isBefore(landed);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.flightapp.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.stereotype.Component;
+
+import com.flightapp.dto.SeatAvailability;
+import com.flightapp.exception.ResourceNotFoundException;
+import com.flightapp.repository.FlightRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// live seat counts per flight: every watcher of a flight shares one hot Flux cut from the
+// instance-wide change feed, and each watcher only ever gets the latest count when it falls behind
+@Component
+public class SeatAvailabilityStream {
+
+    private final FlightChangeFeed changeFeed;
+    private final FlightRepository flightRepository;
+    private final Map<String, Flux<SeatAvailability>> perFlight = new ConcurrentHashMap<>();
+
+    public SeatAvailabilityStream(FlightChangeFeed changeFeed, FlightRepository flightRepository) {
+        this.changeFeed = changeFeed;
+        this.flightRepository = flightRepository;
+    }
+
+    public Flux<SeatAvailability> watch(String flightId) {
+        return Flux.defer(() -> {
+                    // subscribe to live changes first, then read the current count; a change that
+                    // lands in between wins over the (possibly older) snapshot
+                    AtomicBoolean sawLive = new AtomicBoolean();
+                    Flux<SeatAvailability> live = shared(flightId).doOnNext(change -> sawLive.set(true));
+                    Mono<SeatAvailability> snapshot = flightRepository.findTicketView(flightId)
+                            .switchIfEmpty(Mono.error(
+                                    new ResourceNotFoundException("Flight not found with id: " + flightId)))
+                            .map(flight -> SeatAvailability.of(flight.getId(), flight.getAvailableSeats()))
+                            .filter(current -> !sawLive.get());
+                    return Flux.merge(live, snapshot);
+                })
+                .distinctUntilChanged(SeatAvailability::getAvailableSeats)
+                // conflation: a slow client skips intermediate counts instead of holding up the others
+                .onBackpressureLatest();
+    }
+
+    int watchedFlights() {
+        return perFlight.size();
+    }
+
+    private Flux<SeatAvailability> shared(String flightId) {
+        return perFlight.computeIfAbsent(flightId, id -> changeFeed.seatChanges()
+                .filter(change -> id.equals(change.getFlightId()))
+                // the last watcher left: drop the entry, the next one builds a fresh share
+                .doOnCancel(() -> perFlight.remove(id))
+                .publish()
+                .refCount());
+    }
+}
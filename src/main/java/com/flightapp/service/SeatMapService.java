@@ -0,0 +1,66 @@
+package com.flightapp.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import com.flightapp.exception.BusinessException;
+import com.flightapp.model.SeatHold;
+import com.flightapp.repository.SeatHoldRepository;
+
+import reactor.core.publisher.Mono;
+
+@Service
+public class SeatMapService {
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final ServiceMetrics metrics;
+    private final MongoTimeouts timeouts;
+
+    public SeatMapService(SeatHoldRepository seatHoldRepository, ServiceMetrics metrics, MongoTimeouts timeouts) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.metrics = metrics;
+        this.timeouts = timeouts;
+    }
+
+    // inserts one hold per seat; a duplicate _id means someone else already has that seat
+    public Mono<Void> claimSeats(String flightId, String pnr, List<String> seatNumbers) {
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SeatHold> holds = seatNumbers.stream()
+                .map(seat -> {
+                    SeatHold hold = new SeatHold();
+                    hold.setId(SeatHold.idFor(flightId, seat));
+                    hold.setFlightId(flightId);
+                    hold.setSeatNumber(SeatHold.normalizeSeat(seat));
+                    hold.setPnr(pnr);
+                    hold.setHeldAt(now);
+                    return hold;
+                })
+                .toList();
+
+        // not capped: a claim given up on client-side could still land and hold the seats for good
+        return seatHoldRepository.insert(holds)
+                .then()
+                .onErrorResume(DuplicateKeyException.class, e -> {
+                    metrics.seatConflict();
+                    // drop whatever part of this claim made it in before the conflict
+                    return releaseSeats(flightId, pnr, seatNumbers)
+                            .onErrorResume(ignored -> Mono.empty())
+                            .then(Mono.error(new BusinessException(
+                                    "One or more selected seats are already booked")));
+                });
+    }
+
+    // only removes holds owned by this pnr, so a stale release cannot free someone else's seat
+    public Mono<Void> releaseSeats(String flightId, String pnr, List<String> seatNumbers) {
+
+        List<String> ids = seatNumbers.stream()
+                .map(seat -> SeatHold.idFor(flightId, seat))
+                .toList();
+
+        return timeouts.write("releaseSeatClaims", seatHoldRepository.deleteByIdInAndPnr(ids, pnr)).then();
+    }
+}
@@ -0,0 +1,142 @@
+package com.flightapp.service;
+
+import org.springframework.stereotype.Component;
+
+import com.flightapp.exception.BusinessException;
+import com.flightapp.exception.ResourceNotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// booking outcome counters and per-operation service timers; HTTP routes and Mongo
+// commands are timed by the actuator auto-configuration (http.server.requests, mongodb.driver.commands)
+@Component
+public class ServiceMetrics {
+
+    static final String BOOKINGS = "flightapp.bookings";
+    static final String REJECTIONS = "flightapp.bookings.rejected";
+    static final String OPERATIONS = "flightapp.service.operations";
+    static final String ADMISSIONS = "flightapp.admission.rejected";
+    static final String CONFLICTS = "flightapp.optimistic.conflicts";
+
+    private final MeterRegistry registry;
+
+    private final Counter booked;
+    private final Counter held;
+    private final Counter confirmed;
+    private final Counter cancelled;
+    private final Counter expired;
+    private final Counter soldOut;
+    private final Counter seatConflicts;
+
+    public ServiceMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.booked = bookingCounter("booked");
+        this.held = bookingCounter("held");
+        this.confirmed = bookingCounter("confirmed");
+        this.cancelled = bookingCounter("cancelled");
+        this.expired = bookingCounter("expired");
+        this.soldOut = rejectionCounter("sold_out");
+        this.seatConflicts = rejectionCounter("seat_conflict");
+    }
+
+    public void booked() {
+        booked.increment();
+    }
+
+    public void held() {
+        held.increment();
+    }
+
+    public void confirmed() {
+        confirmed.increment();
+    }
+
+    public void cancelled() {
+        cancelled.increment();
+    }
+
+    public void expired(int holds) {
+        expired.increment(holds);
+    }
+
+    public void soldOut() {
+        soldOut.increment();
+    }
+
+    public void seatConflict() {
+        seatConflicts.increment();
+    }
+
+    public void admissionRejected(String limit) {
+        Counter.builder(ADMISSIONS)
+                .description("Requests turned away with 429 by the admission filter")
+                .tag("limit", limit)
+                .register(registry)
+                .increment();
+    }
+
+    // outcome: retried (another attempt follows) or exhausted (answered 409)
+    public void conflict(String operation, String outcome) {
+        Counter.builder(CONFLICTS)
+                .description("Optimistic locking conflicts on versioned saves")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public <T> Mono<T> timed(String operation, Mono<T> work) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return work
+                    .doOnSuccess(value -> stop(sample, operation, "success"))
+                    .doOnError(e -> stop(sample, operation, outcome(e)))
+                    .doOnCancel(() -> stop(sample, operation, "cancelled"));
+        });
+    }
+
+    public <T> Flux<T> timed(String operation, Flux<T> work) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return work
+                    .doOnComplete(() -> stop(sample, operation, "success"))
+                    .doOnError(e -> stop(sample, operation, outcome(e)))
+                    .doOnCancel(() -> stop(sample, operation, "cancelled"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder(OPERATIONS)
+                .description("Service-level latency of booking and search operations")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private static String outcome(Throwable error) {
+        // business rejections are expected traffic; keep them apart from real failures
+        if (error instanceof BusinessException || error instanceof ResourceNotFoundException) {
+            return "rejected";
+        }
+        return "error";
+    }
+
+    private Counter bookingCounter(String outcome) {
+        return Counter.builder(BOOKINGS)
+                .description("Bookings by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Counter rejectionCounter(String reason) {
+        return Counter.builder(REJECTIONS)
+                .description("Booking attempts rejected before any booking was stored")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
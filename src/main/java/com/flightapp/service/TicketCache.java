@@ -0,0 +1,96 @@
+package com.flightapp.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.flightapp.dto.TicketResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import reactor.core.publisher.Mono;
+
+// assembled tickets per PNR for a few seconds: lookups that arrive while a load is still running
+// join it instead of starting their own, later ones are answered from the cache. Cancellations
+// and meal updates invalidate the entry; the short TTL bounds anything a racing load puts back
+@Component
+public class TicketCache implements MeterBinder {
+
+    static final String LOOKUPS = "flightapp.ticket.lookups";
+
+    private final AsyncCache<String, TicketResponse> cache;
+
+    private Counter loaded;
+    private Counter coalesced;
+    private Counter cached;
+
+    public TicketCache(@Value("${flightapp.ticket-cache.maximum-size:50000}") long maximumSize,
+                       @Value("${flightapp.ticket-cache.ttl:PT5S}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Mono<TicketResponse> get(String pnr, Supplier<Mono<TicketResponse>> loader) {
+
+        return Mono.fromFuture(() -> {
+            AtomicBoolean started = new AtomicBoolean();
+            CompletableFuture<TicketResponse> ticket = cache.get(pnr, (key, executor) -> {
+                started.set(true);
+                return loader.get().toFuture();
+            });
+            count(started.get() ? loaded : ticket.isDone() ? cached : coalesced);
+            return ticket;
+        }, true); // one caller cancelling must not cancel the load the others are waiting on
+    }
+
+    public void invalidate(String pnr) {
+        cache.synchronous().invalidate(pnr);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "ticket");
+        this.loaded = lookupCounter(registry, "loaded");
+        this.coalesced = lookupCounter(registry, "coalesced");
+        this.cached = lookupCounter(registry, "cached");
+
+        // share of lookups that did not start their own load
+        Gauge.builder("flightapp.ticket.coalescing.ratio", this, TicketCache::coalescingRatio)
+                .description("Ticket lookups answered by a shared load or the cache, over all lookups")
+                .register(registry);
+    }
+
+    double coalescingRatio() {
+        if (loaded == null) {
+            return 0;
+        }
+        double total = loaded.count() + coalesced.count() + cached.count();
+        return total == 0 ? 0 : (coalesced.count() + cached.count()) / total;
+    }
+
+    private static void count(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String result) {
+        return Counter.builder(LOOKUPS)
+                .description("Ticket lookups by how they were answered")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,59 @@
+package com.flightapp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.dto.InventoryRequest;
+import com.flightapp.model.Passenger;
+import com.flightapp.model.enums.Gender;
+import com.flightapp.model.enums.MealType;
+
+// the requests tests and benchmarks add flights and book seats with; callers set only what
+// their case is about and change the rest on the returned request if they need to
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static InventoryRequest inventory(String fromPlace, String toPlace, LocalDate departureDate, int totalSeats) {
+        InventoryRequest request = new InventoryRequest();
+        request.setAirlineName("Test Air");
+        request.setAirlineLogoUrl("https://example.com/logo.png");
+        request.setFromPlace(fromPlace);
+        request.setToPlace(toPlace);
+        request.setDepartureDate(departureDate);
+        request.setDepartureTime(LocalTime.of(10, 30));
+        request.setArrivalTime(LocalTime.of(12, 30));
+        request.setOneWayPrice(BigDecimal.valueOf(5000));
+        request.setRoundTripPrice(BigDecimal.valueOf(9000));
+        request.setRoundTripAvailable(true);
+        request.setTotalSeats(totalSeats);
+        return request;
+    }
+
+    // one passenger per seat
+    public static BookingRequest booking(String userEmail, List<String> seatNumbers) {
+        BookingRequest request = new BookingRequest();
+        request.setUserName("Test User");
+        request.setUserEmail(userEmail);
+        request.setNumberOfSeats(seatNumbers.size());
+        request.setPassengers(IntStream.range(0, seatNumbers.size())
+                .mapToObj(TestFixtures::passenger)
+                .toList());
+        request.setSeatNumbers(seatNumbers);
+        request.setMealType(MealType.VEG);
+        return request;
+    }
+
+    public static Passenger passenger(int i) {
+        Passenger passenger = new Passenger();
+        passenger.setName("Passenger " + i);
+        passenger.setGender(i % 2 == 0 ? Gender.FEMALE : Gender.MALE);
+        passenger.setAge(20 + i % 50);
+        return passenger;
+    }
+}
@@ -0,0 +1,71 @@
+package com.flightapp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.flightapp.model.AppliedMigration;
+
+import reactor.core.publisher.Mono;
+
+class MigrationRunnerTest {
+
+    private final List<String> applied = new ArrayList<>();
+
+    @Test
+    void start_shouldApplyOnlyEnabledMigrationsNotRecordedYet() {
+
+        ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+        when(mongoTemplate.exists(any(Query.class), eq(AppliedMigration.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.<Query>getArgument(0)
+                        .getQueryObject().get("id").equals("done-v1")));
+        when(mongoTemplate.save(any(AppliedMigration.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        MigrationRunner runner = new MigrationRunner(mongoTemplate, List.of(
+                migration("done-v1", true),
+                migration("off-v1", false),
+                migration("new-v1", true)));
+
+        runner.start();
+
+        assertEquals(List.of("new-v1"), applied);
+        verify(mongoTemplate).save(any(AppliedMigration.class));
+    }
+
+    private Migration migration(String id, boolean enabled) {
+        return new Migration() {
+
+            @Override
+            public String id() {
+                return id;
+            }
+
+            @Override
+            public boolean enabled() {
+                return enabled;
+            }
+
+            @Override
+            public Duration timeout() {
+                return Duration.ofSeconds(5);
+            }
+
+            @Override
+            public Mono<Void> apply() {
+                return Mono.fromRunnable(() -> applied.add(id));
+            }
+        };
+    }
+}
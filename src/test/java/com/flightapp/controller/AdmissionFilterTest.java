@@ -0,0 +1,104 @@
+package com.flightapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import com.flightapp.service.ServiceMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class AdmissionFilterTest {
+
+    private static final WebFilterChain PASS = exchange -> Mono.empty();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void searchBeyondBurst_shouldAnswer429WithRetryAfter() {
+
+        AdmissionFilter filter = filter(1, 2, 1000, 1000, 1000, 1000, 10);
+
+        assertNull(search(filter, "a@x.com").getResponse().getStatusCode());
+        assertNull(search(filter, "a@x.com").getResponse().getStatusCode());
+
+        MockServerWebExchange rejected = search(filter, "a@x.com");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        // other users have their own bucket
+        assertNull(search(filter, "b@x.com").getResponse().getStatusCode());
+        assertEquals(1.0, registry.get("flightapp.admission.rejected").tag("limit", "search").counter().count());
+    }
+
+    @Test
+    void bookingsBeyondInFlightCap_shouldBeRejectedUntilOneFinishes() {
+
+        AdmissionFilter filter = filter(1000, 1000, 1000, 1000, 1000, 1000, 1);
+        Sinks.Empty<Void> running = Sinks.empty();
+        WebFilterChain slow = exchange -> running.asMono();
+
+        MockServerWebExchange first = book("f1", "a@x.com");
+        filter.filter(first, slow).subscribe();
+
+        MockServerWebExchange second = book("f1", "b@x.com");
+        filter.filter(second, PASS).block();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+
+        // the cap is per flight
+        MockServerWebExchange otherFlight = book("f2", "b@x.com");
+        filter.filter(otherFlight, PASS).block();
+        assertNull(otherFlight.getResponse().getStatusCode());
+
+        running.tryEmitEmpty();
+        MockServerWebExchange third = book("f1", "b@x.com");
+        filter.filter(third, PASS).block();
+        assertNull(third.getResponse().getStatusCode());
+    }
+
+    @Test
+    void otherRoutes_shouldNotBeLimited() {
+
+        AdmissionFilter filter = filter(1000, 1000, 1, 1, 1, 1, 1);
+
+        for (int i = 0; i < 5; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(
+                    MockServerHttpRequest.get("/api/v1.0/flight/ticket/{pnr}", "ABC"));
+            filter.filter(exchange, PASS).block();
+            assertNull(exchange.getResponse().getStatusCode());
+        }
+        assertTrue(registry.find("flightapp.admission.rejected").counters().isEmpty());
+    }
+
+    private AdmissionFilter filter(double searchRate, int searchBurst, double bookingRate, int bookingBurst,
+                                   double flightRate, int flightBurst, int maxInFlight) {
+        return new AdmissionFilter(true, searchRate, searchBurst, bookingRate, bookingBurst,
+                flightRate, flightBurst, maxInFlight, Duration.ofMinutes(1), 1000,
+                new ServiceMetrics(registry));
+    }
+
+    private static MockServerWebExchange search(AdmissionFilter filter, String email) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .post("/api/v1.0/flight/search")
+                .header("X-User-Email", email));
+        filter.filter(exchange, PASS).block();
+        return exchange;
+    }
+
+    private static MockServerWebExchange book(String flightId, String email) {
+        return MockServerWebExchange.from(MockServerHttpRequest
+                .post("/api/v1.0/flight/booking/{flightId}", flightId)
+                .header("X-User-Email", email));
+    }
+}
@@ -1,5 +1,10 @@
 package com.flightapp.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
@@ -7,11 +12,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import com.flightapp.dto.InventoryLoadResult;
 import com.flightapp.dto.InventoryRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 @SpringBootTest
 @AutoConfigureWebTestClient
@@ -43,8 +50,77 @@ class FlightControllerTest {
                 .exchange()
                 .expectStatus().isCreated()
                 .expectBody()
-                .jsonPath("$.id").isNotEmpty()
-                .jsonPath("$.airlineName").isEqualTo("Test Airline");
+                .jsonPath("$.flightId").isNotEmpty()
+                .jsonPath("$.airlineName").isEqualTo("Test Airline")
+                .jsonPath("$.availableSeats").isEqualTo(100)
+                .jsonPath("$.version").doesNotExist()
+                .jsonPath("$.routeKey").doesNotExist();
     }
-}
 
+    @Test
+    void bulkAddInventory_shouldReportEachLine() {
+
+        String departureDate = LocalDate.now().plusDays(5).toString();
+        String valid = "{\"airlineName\":\"Bulk Air\",\"fromPlace\":\"Kolkata\",\"toPlace\":\"Delhi\","
+                + "\"departureDate\":\"" + departureDate + "\",\"departureTime\":\"10:30:00\","
+                + "\"arrivalTime\":\"12:30:00\",\"oneWayPrice\":5000,\"totalSeats\":100}";
+        String sameCity = valid.replace("\"toPlace\":\"Delhi\"", "\"toPlace\":\"kolkata\"");
+
+        List<InventoryLoadResult> results = webTestClient.post()
+                .uri("/api/v1.0/flight/airline/inventory/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(valid + "\n" + sameCity + "\n")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(InventoryLoadResult.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(2, results.size());
+        assertNotNull(results.get(0).getId());
+        assertNull(results.get(0).getError());
+        assertEquals(2, results.get(1).getLine());
+        assertEquals("From and To place cannot be same", results.get(1).getError());
+    }
+
+    @Test
+    void bulkAddInventory_shouldReportMalformedLineAndKeepLoading() {
+
+        String departureDate = LocalDate.now().plusDays(5).toString();
+        String valid = "{\"airlineName\":\"Bulk Air\",\"fromPlace\":\"Kolkata\",\"toPlace\":\"Delhi\","
+                + "\"departureDate\":\"" + departureDate + "\",\"departureTime\":\"10:30:00\","
+                + "\"arrivalTime\":\"12:30:00\",\"oneWayPrice\":5000,\"totalSeats\":100}";
+
+        List<InventoryLoadResult> results = webTestClient.post()
+                .uri("/api/v1.0/flight/airline/inventory/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(valid + "\n{\"airlineName\":\"Broken\",\n" + valid + "\n")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(InventoryLoadResult.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(3, results.size());
+        assertNotNull(results.get(0).getId());
+        assertEquals(2, results.get(1).getLine());
+        assertNull(results.get(1).getId());
+        assertTrue(results.get(1).getError().startsWith("Malformed JSON"));
+        assertEquals(3, results.get(2).getLine());
+        assertNotNull(results.get(2).getId());
+    }
+
+    @Test
+    void confirmHold_shouldReturnNotFoundForUnknownHold() {
+
+        webTestClient.post()
+                .uri("/api/v1.0/flight/booking/hold/{holdId}/confirm", "000000000000000000000000")
+                .header("X-User-Email", "someone@example.com")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,54 @@
+package com.flightapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void bookingMeters_shouldBeRegistered() {
+
+        for (String outcome : new String[] {"booked", "held", "confirmed", "cancelled", "expired"}) {
+            assertNotNull(meterRegistry.find("flightapp.bookings").tag("outcome", outcome).counter(), outcome);
+        }
+        assertNotNull(meterRegistry.find("flightapp.bookings.rejected").tag("reason", "sold_out").counter());
+        assertNotNull(meterRegistry.find("flightapp.bookings.rejected").tag("reason", "seat_conflict").counter());
+        assertNotNull(meterRegistry.find("flightapp.booking.transactions").tag("event", "retried").functionCounter());
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", "flightSearch").meter());
+    }
+
+    @Test
+    void prometheusEndpoint_shouldExposeMeters() {
+
+        String scrape = webTestClient.get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(scrape);
+        assertTrue(scrape.contains("flightapp_bookings_total"));
+        assertTrue(scrape.contains("flightapp_bookings_rejected_total"));
+        assertTrue(scrape.contains("mongodb_driver_commands_seconds"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.flightapp.exception;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.flightapp.model.Booking;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.service.MongoTimeouts;
+
+import reactor.core.publisher.Mono;
+
+class GlobalExceptionHandlerTest {
+
+    @Test
+    void databaseTimeout_shouldAnswer503WithRetryAfter() {
+
+        BookingRepository repository = mock(BookingRepository.class);
+        when(repository.findByPnr(any())).thenReturn(Mono.never());
+
+        client(repository).get()
+                .uri("/ticket/{pnr}", "ABC123")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1")
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Database did not answer findBooking within 50 ms");
+    }
+
+    @Test
+    void driverResourceFailure_shouldAnswer503WithoutLeakingDetails() {
+
+        BookingRepository repository = mock(BookingRepository.class);
+        when(repository.findByPnr(any())).thenReturn(Mono.error(
+                new DataAccessResourceFailureException("Timed out waiting for a server, pool exhausted at 10.0.0.7")));
+
+        client(repository).get()
+                .uri("/ticket/{pnr}", "ABC123")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1")
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Database is temporarily unavailable");
+    }
+
+    private static WebTestClient client(BookingRepository repository) {
+        MongoTimeouts timeouts = new MongoTimeouts(Duration.ofMillis(50), Duration.ofMillis(50));
+        return WebTestClient.bindToController(new TicketController(repository, timeouts))
+                .controllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @RestController
+    static class TicketController {
+
+        private final BookingRepository repository;
+        private final MongoTimeouts timeouts;
+
+        TicketController(BookingRepository repository, MongoTimeouts timeouts) {
+            this.repository = repository;
+            this.timeouts = timeouts;
+        }
+
+        @GetMapping("/ticket/{pnr}")
+        Mono<Booking> ticket(@PathVariable String pnr) {
+            return timeouts.read("findBooking", repository.findByPnr(pnr));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.flightapp.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.flightapp.TestFixtures;
+import com.flightapp.dto.BookingRequest;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.service.BookingService;
+import com.flightapp.service.FlightService;
+
+@SpringBootTest
+class FlightSnapshotPropagationJobTest {
+
+    private static final LocalDate DEPARTURE = LocalDate.now().plusDays(20);
+    private static final LocalTime RETIMED = LocalTime.of(14, 0);
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private FlightSnapshotPropagationJob job;
+
+    @Test
+    void propagate_shouldRewriteOnlySnapshotsBehindTheFlight() {
+
+        Flight flight = flightService.addInventory(TestFixtures.inventory("Kolkata", "Chennai", DEPARTURE, 50)).block();
+        String stale = bookingService.bookTicket(flight.getId(), booking(1)).block().getPnr();
+
+        // a schedule change as the contract asks for it: new times, scheduleVersion bumped
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(flight.getId())),
+                        new Update()
+                                .set("departureTime", RETIMED)
+                                .set("arrivalTime", RETIMED.plusHours(2))
+                                .inc("scheduleVersion", 1)
+                                .set("scheduleChangedAt", LocalDateTime.now()),
+                        Flight.class)
+                .block();
+
+        // booked after the change, so its snapshot is already current
+        String current = bookingService.bookTicket(flight.getId(), booking(2)).block().getPnr();
+        Booking currentBefore = bookingRepository.findByPnr(current).block();
+
+        job.propagate().block();
+
+        Booking updated = bookingRepository.findByPnr(stale).block();
+        assertEquals(1, updated.getFlight().getScheduleVersion());
+        assertEquals(RETIMED, updated.getFlight().getDepartureTime());
+        assertEquals(RETIMED.plusHours(2), updated.getFlight().getArrivalTime());
+        assertEquals(LocalDateTime.of(DEPARTURE, RETIMED), updated.getJourneyDepartureDateTime());
+
+        Booking currentAfter = bookingRepository.findByPnr(current).block();
+        assertEquals(currentBefore.getVersion(), currentAfter.getVersion());
+
+        // a rerun over the same window finds nothing behind the flight any more
+        job.propagate().block();
+        assertEquals(updated.getVersion(), bookingRepository.findByPnr(stale).block().getVersion());
+    }
+
+    private static BookingRequest booking(int i) {
+        return TestFixtures.booking("snapshot-" + UUID.randomUUID() + "@example.com", List.of("S" + i));
+    }
+}
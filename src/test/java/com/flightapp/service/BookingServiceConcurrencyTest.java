@@ -0,0 +1,123 @@
+package com.flightapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.flightapp.TestFixtures;
+import com.flightapp.dto.TicketResponse;
+import com.flightapp.exception.BusinessException;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.model.enums.MealType;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest
+class BookingServiceConcurrencyTest {
+
+    private static final int TOTAL_SEATS = 200;
+    private static final int BOOKERS = 500;
+    private static final int MUTATED_BOOKINGS = 20;
+    private static final int MUTATIONS = 1000;
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void bookTicket_concurrentBookersOnOneFlight_shouldNeverOversell() {
+
+        Flight flight = flightService.addInventory(TestFixtures.inventory("Kolkata", "Delhi", LocalDate.now().plusDays(10), TOTAL_SEATS)).block();
+
+        Integer booked = Flux.range(0, BOOKERS)
+                .flatMap(i -> bookingService.bookTicket(flight.getId(), TestFixtures.booking("user" + i + "@example.com", List.of("S" + i)))
+                        .map(ticket -> 1)
+                        .onErrorResume(BusinessException.class, e -> Mono.just(0)), BOOKERS)
+                .reduce(0, Integer::sum)
+                .block();
+
+        Flight after = flightRepository.findById(flight.getId()).block();
+
+        assertEquals(TOTAL_SEATS, booked);
+        assertEquals(0, after.getAvailableSeats());
+    }
+
+    @Test
+    void concurrentMutations_shouldLoseNoUpdatesAndReleaseSeatsOnce() {
+
+        Flight flight = flightService.addInventory(TestFixtures.inventory("Kolkata", "Delhi", LocalDate.now().plusDays(10), TOTAL_SEATS)).block();
+
+        List<String> pnrs = Flux.range(0, MUTATED_BOOKINGS)
+                .concatMap(i -> bookingService.bookTicket(flight.getId(), TestFixtures.booking("user" + i + "@example.com", List.of("S" + i))))
+                .map(TicketResponse::getPnr)
+                .collectList()
+                .block();
+
+        Map<String, AtomicInteger> applied = new ConcurrentHashMap<>();
+        pnrs.forEach(pnr -> applied.put(pnr, new AtomicInteger()));
+        AtomicInteger conflicts = new AtomicInteger();
+
+        // every meal update that succeeds must show up as exactly one version step
+        Flux.range(0, MUTATIONS)
+                .flatMap(i -> {
+                    int booking = i % MUTATED_BOOKINGS;
+                    String pnr = pnrs.get(booking);
+                    return bookingService.updateMealType(pnr, "user" + booking + "@example.com",
+                                    i % 2 == 0 ? MealType.NON_VEG : MealType.VEG)
+                            .doOnNext(ticket -> applied.get(pnr).incrementAndGet())
+                            .onErrorResume(OptimisticLockingFailureException.class, e -> {
+                                conflicts.incrementAndGet();
+                                return Mono.empty();
+                            });
+                }, MUTATIONS)
+                .blockLast();
+
+        int successes = 0;
+        for (String pnr : pnrs) {
+            Booking stored = bookingRepository.findByPnr(pnr).block();
+            assertEquals(applied.get(pnr).get(), stored.getVersion().intValue(), "lost update on " + pnr);
+            successes += applied.get(pnr).get();
+        }
+        assertEquals(MUTATIONS, successes + conflicts.get());
+
+        // two cancellations race per booking; only one may give the seats back
+        Integer cancelled = Flux.fromIterable(pnrs)
+                .flatMap(pnr -> {
+                    String email = "user" + pnrs.indexOf(pnr) + "@example.com";
+                    // each loser is dropped on its own, so its error cannot cancel the winner
+                    return Flux.merge(cancelOrNothing(pnr, email), cancelOrNothing(pnr, email));
+                })
+                .reduce(0, Integer::sum)
+                .block();
+
+        assertEquals(MUTATED_BOOKINGS, cancelled);
+        assertEquals(TOTAL_SEATS, flightRepository.findById(flight.getId()).block().getAvailableSeats());
+    }
+
+    private Mono<Integer> cancelOrNothing(String pnr, String email) {
+        return bookingService.cancelBooking(pnr, email)
+                .thenReturn(1)
+                .onErrorResume(e -> Mono.empty());
+    }
+}
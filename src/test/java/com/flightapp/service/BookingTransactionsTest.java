@@ -0,0 +1,63 @@
+package com.flightapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.flightapp.exception.BusinessException;
+import com.mongodb.MongoException;
+
+import reactor.core.publisher.Mono;
+
+class BookingTransactionsTest {
+
+    @Test
+    void execute_shouldRetryTransientTransactionErrors() {
+
+        BookingTransactions transactions = new BookingTransactions(passThrough(), true, 3, Duration.ofMillis(1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = transactions.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                MongoException conflict = new MongoException(112, "WriteConflict");
+                conflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+                return Mono.error(conflict);
+            }
+            return Mono.just("booked");
+        }).block();
+
+        assertEquals("booked", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2L, transactions.stats().get("retries"));
+    }
+
+    @Test
+    void execute_shouldNotRetryBusinessErrors() {
+
+        BookingTransactions transactions = new BookingTransactions(passThrough(), true, 3, Duration.ofMillis(1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        Mono<String> booking = transactions.execute(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new BusinessException("Not enough seats available"));
+        });
+
+        assertThrows(BusinessException.class, booking::block);
+        assertEquals(1, attempts.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransactionalOperator passThrough() {
+        TransactionalOperator operator = mock(TransactionalOperator.class);
+        when(operator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        return operator;
+    }
+}
@@ -0,0 +1,74 @@
+package com.flightapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.dto.ItineraryResponse;
+import com.flightapp.dto.ItinerarySearchRequest;
+import com.flightapp.model.Flight;
+import com.flightapp.model.RouteKeys;
+import com.flightapp.repository.FlightRepository;
+
+import reactor.core.publisher.Flux;
+
+class ItineraryServiceTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(7);
+
+    @Test
+    void searchItineraries_shouldRankDirectAndConnectingFlightsByPrice() {
+
+        List<Flight> flights = List.of(
+                flight("direct", "Kolkata", "Delhi", "09:00", "11:00", 9000),
+                flight("ccu-bom", "Kolkata", "Mumbai", "06:00", "08:30", 3000),
+                flight("bom-del", "Mumbai", "Delhi", "10:00", "12:00", 2500),
+                // layover of 15 minutes is below the minimum and must be skipped
+                flight("bom-del-tight", "Mumbai", "Delhi", "08:45", "10:45", 1000));
+
+        FlightRepository repository = mock(FlightRepository.class);
+        when(repository.findByDepartureDate(any())).thenAnswer(invocation ->
+                Flux.fromIterable(flights).filter(f -> f.getDepartureDate().equals(invocation.getArgument(0))));
+
+        ItineraryService service = new ItineraryService(
+                new ItineraryIndex(repository, 10, Duration.ofMinutes(5)));
+
+        ItinerarySearchRequest request = new ItinerarySearchRequest();
+        request.setFromPlace("kolkata");
+        request.setToPlace("DELHI");
+        request.setTravelDate(DAY);
+        request.setMaxStops(1);
+
+        List<ItineraryResponse> results = service.searchItineraries(request).collectList().block();
+
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(0).getStops());
+        assertEquals(new BigDecimal("5500"), results.get(0).getTotalPrice());
+        assertEquals("direct", results.get(1).getLegs().get(0).getFlightId());
+    }
+
+    private Flight flight(String id, String from, String to, String departure, String arrival, int price) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setAirlineName("Test Airline");
+        flight.setFromPlace(from);
+        flight.setToPlace(to);
+        flight.setDepartureDate(DAY);
+        flight.setDepartureTime(LocalTime.parse(departure));
+        flight.setArrivalTime(LocalTime.parse(arrival));
+        flight.setOneWayPrice(BigDecimal.valueOf(price));
+        flight.setTotalSeats(100);
+        flight.setAvailableSeats(100);
+        RouteKeys.apply(flight);
+        return flight;
+    }
+}
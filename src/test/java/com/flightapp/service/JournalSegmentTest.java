@@ -0,0 +1,51 @@
+package com.flightapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopen_shouldReplayOnlyUndrainedEntriesAndStopAtATornWrite() throws Exception {
+
+        JournalSegment segment = JournalSegment.create(directory, 1, 4096);
+        segment.append(bytes("first"));
+        int afterFirst = segment.writePosition();
+        segment.append(bytes("second"));
+        segment.append(bytes("third"));
+        int afterThird = segment.writePosition();
+        segment.append(bytes("torn"));
+        segment.force(JournalSegment.HEADER_SIZE);
+        segment.markDrained(afterFirst);
+
+        // flip a payload byte of the last entry, as a crash in the middle of its write would
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve(JournalSegment.fileName(1)).toFile(), "rw")) {
+            file.seek(afterThird + JournalSegment.ENTRY_OVERHEAD);
+            file.write('X');
+        }
+
+        List<JournalSegment.Replayed> replayed = new ArrayList<>();
+        JournalSegment reopened = JournalSegment.open(directory.resolve(JournalSegment.fileName(1)), 1, replayed);
+
+        assertEquals(List.of("second", "third"), replayed.stream()
+                .map(entry -> new String(entry.payload(), StandardCharsets.UTF_8))
+                .toList());
+        assertEquals(afterThird, reopened.writePosition());
+        assertEquals(afterThird, replayed.get(1).end());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
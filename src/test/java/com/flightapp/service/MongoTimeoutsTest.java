@@ -0,0 +1,60 @@
+package com.flightapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.exception.ServiceUnavailableException;
+import com.flightapp.model.Booking;
+import com.flightapp.repository.BookingRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class MongoTimeoutsTest {
+
+    private final MongoTimeouts timeouts = new MongoTimeouts(Duration.ofMillis(50), Duration.ofMillis(100));
+
+    @Test
+    void hangingRead_shouldBecomeServiceUnavailable() {
+
+        BookingRepository repository = mock(BookingRepository.class);
+        when(repository.findByPnr(any())).thenReturn(Mono.never());
+
+        StepVerifier.create(timeouts.read("findBooking", repository.findByPnr("ABC123")))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(ServiceUnavailableException.class, e);
+                    assertEquals("Database did not answer findBooking within 50 ms", e.getMessage());
+                })
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void hangingWrite_shouldUseTheWriteLimit() {
+
+        BookingRepository repository = mock(BookingRepository.class);
+        when(repository.save(any(Booking.class))).thenReturn(Mono.never());
+
+        StepVerifier.create(timeouts.write("saveBooking", repository.save(new Booking())))
+                .expectErrorMessage("Database did not answer saveBooking within 100 ms")
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void streamingRead_shouldTimeOutPerElementNotOverall() {
+
+        // every element is well inside the limit even though the whole stream is not
+        Flux<Integer> slowStream = Flux.range(0, 5).delayElements(Duration.ofMillis(20));
+
+        StepVerifier.create(timeouts.read("history", slowStream))
+                .expectNextCount(5)
+                .verifyComplete();
+    }
+}
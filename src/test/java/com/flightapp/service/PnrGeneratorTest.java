@@ -0,0 +1,95 @@
+package com.flightapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class PnrGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 1_250_000; // 10M in total
+
+    @Test
+    void nextId_shouldStayUniqueAcrossThreads() {
+
+        PnrGenerator generator = new PnrGenerator(7, PnrGenerator.DEFAULT_ALPHABET);
+
+        long[][] perThread = IntStream.range(0, THREADS)
+                .mapToObj(t -> CompletableFuture.supplyAsync(() -> {
+                    long[] ids = new long[PER_THREAD];
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }))
+                .map(CompletableFuture::join)
+                .toArray(long[][]::new);
+
+        long[] all = Arrays.stream(perThread).flatMapToLong(Arrays::stream).sorted().toArray();
+
+        assertEquals((long) THREADS * PER_THREAD, all.length);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i], "duplicate id at " + i);
+        }
+    }
+
+    @Test
+    void generatePnr_shouldUseConfiguredAlphabetAndLength() {
+
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+        PnrGenerator generator = new PnrGenerator(1, alphabet);
+
+        String pnr = generator.generatePnr();
+
+        assertEquals(PnrGenerator.PNR_LENGTH, pnr.length());
+        assertTrue(pnr.chars().allMatch(c -> alphabet.indexOf(c) >= 0));
+    }
+
+    @Test
+    void generatePnr_shouldDifferBetweenNodes() {
+        assertNotEquals(
+                new PnrGenerator(1, PnrGenerator.DEFAULT_ALPHABET).generatePnr(),
+                new PnrGenerator(2, PnrGenerator.DEFAULT_ALPHABET).generatePnr());
+    }
+
+    @Test
+    void resolveNodeId_shouldPreferConfigThenHostOrdinalAndOtherwiseFail() {
+
+        assertEquals(5, PnrGenerator.resolveNodeId("5", "booking-3"));
+        assertEquals(3, PnrGenerator.resolveNodeId("", "booking-3"));
+        assertEquals(17, PnrGenerator.resolveNodeId(null, "flightapp-booking-17"));
+
+        // a Deployment pod name or an ordinal past the node range could collide with another node
+        assertThrows(IllegalStateException.class, () -> PnrGenerator.resolveNodeId("", "web-7f9c6d8b5-x2k4p"));
+        assertThrows(IllegalStateException.class, () -> PnrGenerator.resolveNodeId("", "booking-4096"));
+        assertThrows(IllegalStateException.class, () -> PnrGenerator.resolveNodeId("", null));
+    }
+
+    @Test
+    void nextId_shouldNotReuseIdsAfterARestart() {
+
+        PnrGenerator before = new PnrGenerator(3, PnrGenerator.DEFAULT_ALPHABET);
+        long last = 0;
+        for (int i = 0; i < 1_000; i++) {
+            last = before.nextId();
+        }
+
+        // the same node started again right away
+        PnrGenerator after = new PnrGenerator(3, PnrGenerator.DEFAULT_ALPHABET);
+
+        assertTrue(after.nextId() > last);
+    }
+
+    @Test
+    void constructor_shouldRejectBadAlphabet() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PnrGenerator(0, "AABCDEFGHIJKLMNOPQRSTUVWXYZ23456"));
+    }
+}
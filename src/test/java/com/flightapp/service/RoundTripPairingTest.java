@@ -0,0 +1,51 @@
+package com.flightapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.dto.FlightSearchResponse;
+import com.flightapp.dto.RoundTripResponse;
+
+class RoundTripPairingTest {
+
+    private static final LocalDate OUT = LocalDate.now().plusDays(10);
+    private static final LocalDate BACK = OUT.plusDays(3);
+
+    @Test
+    void cheapestFirst_shouldPriceEachPairOnceAndRankByThatPrice() {
+
+        List<FlightSearchResponse> outbound = List.of(
+                leg("out-a", OUT, 5000, 9000),
+                leg("out-b", OUT, 4000, 7000));
+        List<FlightSearchResponse> inbound = List.of(
+                leg("in-a", BACK, 5000, 9000),
+                leg("in-b", BACK, 6000, 11000));
+
+        List<RoundTripResponse> pairs = RoundTripPairing.cheapestFirst(outbound, inbound).collectList().block();
+
+        assertEquals(4, pairs.size());
+        // mean of the two round trip fares: (7000 + 9000) / 2, (9000 + 9000) / 2, ...
+        assertEquals(0, new BigDecimal("8000").compareTo(pairs.get(0).getTotalPrice()));
+        assertEquals("out-b", pairs.get(0).getOutbound().getFlightId());
+        assertEquals(0, new BigDecimal("9000").compareTo(pairs.get(1).getTotalPrice()));
+        assertEquals(0, new BigDecimal("10000").compareTo(pairs.get(3).getTotalPrice()));
+    }
+
+    private static FlightSearchResponse leg(String id, LocalDate date, int oneWay, int roundTrip) {
+        FlightSearchResponse flight = new FlightSearchResponse();
+        flight.setFlightId(id);
+        flight.setDepartureDate(date);
+        flight.setDepartureTime(LocalTime.of(9, 0));
+        flight.setArrivalTime(LocalTime.of(11, 0));
+        flight.setOneWayPrice(BigDecimal.valueOf(oneWay));
+        flight.setRoundTripPrice(BigDecimal.valueOf(roundTrip));
+        flight.setRoundTripAvailable(true);
+        return flight;
+    }
+}
@@ -0,0 +1,86 @@
+package com.flightapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.dto.SeatAvailability;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class SeatAvailabilityStreamTest {
+
+    @Test
+    void watchersOfOneFlight_shouldShareOneSubscriptionAndSeeEveryChange() {
+
+        Sinks.Many<SeatAvailability> changes = Sinks.many().multicast().directBestEffort();
+        AtomicInteger feedSubscriptions = new AtomicInteger();
+
+        FlightChangeFeed feed = mock(FlightChangeFeed.class);
+        when(feed.seatChanges()).thenReturn(changes.asFlux()
+                .doOnSubscribe(s -> feedSubscriptions.incrementAndGet()));
+
+        SeatAvailabilityStream stream = new SeatAvailabilityStream(feed, repositoryWith("f1", 10));
+
+        Flux<Integer> first = stream.watch("f1").map(SeatAvailability::getAvailableSeats);
+        Flux<Integer> second = stream.watch("f1").map(SeatAvailability::getAvailableSeats);
+
+        StepVerifier.create(Flux.merge(first.take(3), second.take(3)).collectList())
+                .then(() -> {
+                    changes.tryEmitNext(SeatAvailability.of("other", 1));
+                    changes.tryEmitNext(SeatAvailability.of("f1", 9));
+                    changes.tryEmitNext(SeatAvailability.of("f1", 7));
+                })
+                .assertNext(seen -> {
+                    assertEquals(6, seen.size());
+                    assertEquals(2, seen.stream().filter(seats -> seats == 10).count());
+                    assertEquals(2, seen.stream().filter(seats -> seats == 7).count());
+                })
+                .verifyComplete();
+
+        assertEquals(1, feedSubscriptions.get());
+        assertEquals(0, stream.watchedFlights());
+    }
+
+    @Test
+    void slowWatcher_shouldOnlyGetTheLatestCount() {
+
+        Sinks.Many<SeatAvailability> changes = Sinks.many().multicast().directBestEffort();
+        FlightChangeFeed feed = mock(FlightChangeFeed.class);
+        when(feed.seatChanges()).thenReturn(changes.asFlux());
+
+        SeatAvailabilityStream stream = new SeatAvailabilityStream(feed, repositoryWith("f1", 10));
+
+        StepVerifier.create(stream.watch("f1").map(SeatAvailability::getAvailableSeats), 1)
+                .expectNext(10)
+                .then(() -> {
+                    for (int seats = 9; seats >= 0; seats--) {
+                        changes.tryEmitNext(SeatAvailability.of("f1", seats));
+                    }
+                })
+                .thenRequest(1)
+                .expectNext(0)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private static FlightRepository repositoryWith(String flightId, int availableSeats) {
+        Flight flight = new Flight();
+        flight.setId(flightId);
+        flight.setAvailableSeats(availableSeats);
+
+        FlightRepository repository = mock(FlightRepository.class);
+        when(repository.findTicketView(flightId)).thenReturn(Mono.just(flight));
+        return repository;
+    }
+}
@@ -0,0 +1,66 @@
+package com.flightapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightapp.dto.TicketResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class TicketCacheTest {
+
+    @Test
+    void concurrentLookups_shouldShareOneLoadUntilInvalidated() {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TicketCache cache = new TicketCache(100, Duration.ofMinutes(1));
+        cache.bindTo(registry);
+
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<TicketResponse> pending = Sinks.one();
+        TicketResponse ticket = new TicketResponse();
+
+        Mono<TicketResponse> first = cache.get("PNR1", () -> {
+            loads.incrementAndGet();
+            return pending.asMono();
+        });
+        Mono<TicketResponse> second = cache.get("PNR1", () -> {
+            loads.incrementAndGet();
+            return Mono.just(new TicketResponse());
+        });
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> pending.tryEmitValue(ticket))
+                .assertNext(both -> {
+                    assertEquals(ticket, both.getT1());
+                    assertEquals(ticket, both.getT2());
+                })
+                .verifyComplete();
+
+        StepVerifier.create(cache.get("PNR1", () -> Mono.just(new TicketResponse())))
+                .expectNext(ticket)
+                .verifyComplete();
+        assertEquals(1, loads.get());
+
+        cache.invalidate("PNR1");
+        StepVerifier.create(cache.get("PNR1", () -> {
+                    loads.incrementAndGet();
+                    return Mono.just(new TicketResponse());
+                }))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, registry.get(TicketCache.LOOKUPS).tag("result", "coalesced").counter().count());
+        assertEquals(1.0, registry.get(TicketCache.LOOKUPS).tag("result", "cached").counter().count());
+        assertEquals(2.0, registry.get(TicketCache.LOOKUPS).tag("result", "loaded").counter().count());
+        assertEquals(0.5, cache.coalescingRatio());
+    }
+}
@@ -0,0 +1,105 @@
+package com.flightapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.TestFixtures;
+import com.flightapp.model.Booking;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.BookingRepository;
+import com.flightapp.repository.FlightRepository;
+
+// a ticket built from the booking's flight snapshot must be the one the flight lookup builds
+@SpringBootTest
+class TicketSnapshotMappingTest {
+
+    private static final LocalDate TRAVEL_DATE = LocalDate.now().plusDays(15);
+
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ticketFromSnapshot_shouldMatchTicketFromFlightLookup() {
+
+        Flight flight = flightService.addInventory(TestFixtures.inventory("Kolkata", "Pune", TRAVEL_DATE, 30)).block();
+        String pnr = bookingService.bookTicket(flight.getId(), TestFixtures.booking("snapshot-" + UUID.randomUUID() + "@example.com", List.of("M1")))
+                .block().getPnr();
+
+        Booking booking = bookingRepository.findByPnr(pnr).block();
+        Flight ticketView = flightRepository.findTicketView(flight.getId()).block();
+
+        assertEquals(json(bookingService.mapToTicketResponse(booking, ticketView)),
+                json(bookingService.mapToTicketResponse(booking)));
+    }
+
+    @Test
+    void historyWithSnapshotAndLegacyBookings_shouldMatchTheFlightLookupPath() {
+
+        String email = "history-" + UUID.randomUUID() + "@example.com";
+        Flight first = flightService.addInventory(TestFixtures.inventory("Kolkata", "Goa", TRAVEL_DATE, 30)).block();
+        Flight second = flightService.addInventory(TestFixtures.inventory("Goa", "Kolkata", TRAVEL_DATE, 30)).block();
+
+        bookingService.bookTicket(first.getId(), TestFixtures.booking(email, List.of("M1"))).block();
+        String legacy = bookingService.bookTicket(second.getId(), TestFixtures.booking(email, List.of("M2"))).block().getPnr();
+
+        // stored before snapshots existed: the history has to look this flight up
+        mongoTemplate.updateFirst(Query.query(Criteria.where("pnr").is(legacy)),
+                new Update().unset("flight"), Booking.class).block();
+
+        Map<String, Flight> ticketViews = flightRepository.findTicketViews(List.of(first.getId(), second.getId()))
+                .collectMap(Flight::getId, Function.identity())
+                .block();
+        List<String> expected = mongoTemplate.find(Query.query(Criteria.where("userEmail").is(email)), Booking.class)
+                .sort(Comparator.comparing(Booking::getBookedAt).reversed())
+                .map(booking -> bookingService.mapToTicketResponse(booking, ticketViews.get(booking.getFlightId())))
+                .map(this::json)
+                .collectList()
+                .block();
+
+        List<String> history = bookingService.getBookingHistory(email)
+                .map(this::json)
+                .collectList()
+                .block();
+
+        assertEquals(2, history.size());
+        assertEquals(expected, history);
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}